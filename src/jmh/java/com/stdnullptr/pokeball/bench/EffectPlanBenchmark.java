@@ -0,0 +1,92 @@
+package com.stdnullptr.pokeball.bench;
+
+import com.stdnullptr.pokeball.config.models.EffectPlan;
+import com.stdnullptr.pokeball.config.models.EffectSpec;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FANCY effect ring: walking the precomputed plan offsets against the trigonometry that
+ * playEffects used to do on every capture and release
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EffectPlanBenchmark {
+
+    private static final double RING_RADIUS = 0.7;
+
+    @Param({"12", "48"})
+    public int particleCount;
+
+    private EffectSpec spec;
+
+    private EffectPlan plan;
+
+    private final double x = 128.5;
+
+    private final double y = 64.0;
+
+    private final double z = -311.5;
+
+    @Setup
+    public void setUp() {
+        // Sound names resolve through the server registry
+        MockBukkit.mock();
+        spec = new EffectSpec(true, "FANCY", particleCount, "entity.item.pickup", 1.0f, 1.0f);
+        plan = EffectPlan.compile(spec, "effects.capture", NOPLogger.NOP_LOGGER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public EffectPlan compile() {
+        return EffectPlan.compile(spec, "effects.capture", NOPLogger.NOP_LOGGER);
+    }
+
+    @Benchmark
+    public void ringFromPlan(final Blackhole bh) {
+        final double[] ringX = plan.ringX();
+        final double[] ringZ = plan.ringZ();
+        for (int i = 0; i < ringX.length; i++) {
+            bh.consume(x + ringX[i]);
+            bh.consume(y + 0.2);
+            bh.consume(z + ringZ[i]);
+        }
+    }
+
+    /**
+     * Baseline: the per-play ring math before effects were compiled into plans
+     */
+    @Benchmark
+    public void ringPerPlay(final Blackhole bh) {
+        final int points = Math.max(12, particleCount);
+        for (int i = 0; i < points; i++) {
+            final double angle = (2 * Math.PI * i) / points;
+            bh.consume(x + Math.cos(angle) * RING_RADIUS);
+            bh.consume(y + 0.2);
+            bh.consume(z + Math.sin(angle) * RING_RADIUS);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.stdnullptr.pokeball.bench;
+
+import com.stdnullptr.pokeball.config.models.MessageKey;
+import com.stdnullptr.pokeball.message.MessageArgs;
+import com.stdnullptr.pokeball.message.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering: precompiled static templates, precompiled placeholder templates filled per
+ * send, and the pre-template baseline of string replacement plus a full parse
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageRenderBenchmark {
+
+    private final MiniMessage mini = MiniMessage.miniMessage();
+
+    private final MessageArgs captureArgs = MessageArgs.type("COW");
+
+    private final MessageArgs givenArgs = MessageArgs.given(16, "Steve");
+
+    private MessageTemplate captureSuccess;
+
+    private MessageTemplate given;
+
+    private MessageTemplate reloaded;
+
+    @Setup
+    public void setUp() {
+        captureSuccess = MessageTemplate.compile(mini, MessageKey.CAPTURE_SUCCESS.defaultValue());
+        given = MessageTemplate.compile(mini, MessageKey.GIVEN.defaultValue());
+        reloaded = MessageTemplate.compile(mini, MessageKey.RELOADED.defaultValue());
+    }
+
+    @Benchmark
+    public Component renderStatic() {
+        return reloaded.render();
+    }
+
+    @Benchmark
+    public Component renderOnePlaceholder() {
+        return captureSuccess.render(captureArgs);
+    }
+
+    @Benchmark
+    public Component renderTwoPlaceholders() {
+        return given.render(givenArgs);
+    }
+
+    /**
+     * Baseline: what every capture message cost before templates were compiled at load
+     */
+    @Benchmark
+    public Component parsePerSend() {
+        return mini.deserialize(MessageKey.CAPTURE_SUCCESS
+                                        .defaultValue()
+                                        .replace("<type>", "COW"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.stdnullptr.pokeball.bench;
+
+import com.stdnullptr.pokeball.service.storage.StasisEntry;
+import com.stdnullptr.pokeball.util.UuidHashMap;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory indexes StasisService keeps, independent of the storage backend: entries by ball
+ * id in a {@link LinkedHashMap} and ball ids by entity id in a {@link UuidHashMap}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StasisLookupBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entries;
+
+    private final Map<UUID, StasisEntry> byBall = new LinkedHashMap<>();
+
+    private final UuidHashMap<UUID> byEntity = new UuidHashMap<>();
+
+    private UUID[] ballIds;
+
+    private UUID[] entityIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ballIds = new UUID[entries];
+        entityIds = new UUID[entries];
+        for (int i = 0; i < entries; i++) {
+            final StasisEntry entry = new StasisEntry(UUID.randomUUID(), UUID.randomUUID(), "world", i % 7, i % 5, EntityType.COW, null);
+            ballIds[i] = entry.ballId();
+            entityIds[i] = entry.entityId();
+            byBall.put(entry.ballId(), entry);
+            byEntity.put(entry.entityId(), entry.ballId());
+        }
+    }
+
+    @Benchmark
+    public StasisEntry getByBallId() {
+        return byBall.get(ballIds[ThreadLocalRandom
+                .current()
+                .nextInt(entries)]);
+    }
+
+    @Benchmark
+    public UUID lookupByEntity() {
+        return byEntity.get(entityIds[ThreadLocalRandom
+                .current()
+                .nextInt(entries)]);
+    }
+}
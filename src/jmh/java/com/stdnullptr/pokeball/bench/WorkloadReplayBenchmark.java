@@ -0,0 +1,271 @@
+package com.stdnullptr.pokeball.bench;
+
+import com.stdnullptr.pokeball.Pokeball;
+import com.stdnullptr.pokeball.item.PokeballItemFactory;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.HistogramSnapshot;
+import com.stdnullptr.pokeball.metrics.LatencyHistogram;
+import com.stdnullptr.pokeball.metrics.MetricsSnapshot;
+import com.stdnullptr.pokeball.service.ReleaseResult;
+import com.stdnullptr.pokeball.trace.TraceEvent;
+import com.stdnullptr.pokeball.trace.WorkloadTrace;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Snowball;
+import org.bukkit.event.entity.ProjectileHitEvent;
+import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a trace recorded with {@code /pokeball admin trace} against the plugin on a fresh
+ * MockBukkit server per iteration, tick by tick, with the default configuration. The score is the
+ * wall time of the whole replay; {@code -prof gc} adds allocations per replay. After each
+ * iteration the per-tick time distribution, main-thread allocation per tick, stasis bytes flushed
+ * to disk and any drift from the recorded capture and release outcomes are printed.
+ * <p>
+ * Run with {@code -Djmh.args="WorkloadReplay -p trace=/path/to/trace.pbtrace -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorkloadReplayBenchmark {
+
+    @Param("")
+    public String trace;
+
+    private WorkloadTrace workload;
+
+    private ServerMock server;
+
+    private Pokeball plugin;
+
+    private PokeballItemFactory factory;
+
+    private final Map<String, PlayerMock> players = new HashMap<>();
+
+    private final Map<Integer, Snowball> inFlight = new HashMap<>();
+
+    private LatencyHistogram tickTimes;
+
+    private long allocatedBytes;
+
+    private int skipped;
+
+    private int expectedCaptures;
+
+    private int expectedReleases;
+
+    @Setup(Level.Trial)
+    public void readTrace() throws IOException {
+        if (trace.isEmpty()) {
+            throw new IllegalStateException("Pass the trace to replay with -p trace=<file>");
+        }
+        workload = WorkloadTrace.read(Path.of(trace));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        for (final TraceEvent event : workload.events()) {
+            final String world = switch (event) {
+                case TraceEvent.Launch launch -> launch.world();
+                case TraceEvent.Hit hit -> hit.world();
+                default -> null;
+            };
+            if (world != null && server.getWorld(world) == null) {
+                server.addSimpleWorld(world);
+            }
+        }
+        plugin = MockBukkit.load(Pokeball.class);
+        factory = plugin.items();
+        players.clear();
+        inFlight.clear();
+        tickTimes = new LatencyHistogram();
+        allocatedBytes = 0L;
+        skipped = 0;
+        expectedCaptures = 0;
+        expectedReleases = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        final MetricsSnapshot live = plugin
+                .metrics()
+                .snapshot();
+        // Unloading the plugin drains pending stasis writes, so read persistence counters afterwards
+        MockBukkit.unmock();
+        final MetricsSnapshot flushed = plugin
+                .metrics()
+                .snapshot();
+        final HistogramSnapshot ticks = tickTimes.snapshot();
+        System.out.printf(
+                Locale.ROOT,
+                "%n  ticks=%d p50=%.1fµs p99=%.1fµs max=%.1fµs alloc/tick=%d B%n"
+                        + "  flushes=%d flushed=%d B%n"
+                        + "  captures=%d (recorded %d) releases=%d (recorded %d) skipped=%d%n",
+                ticks.count(),
+                ticks.quantileNanos(0.50) / 1_000.0,
+                ticks.quantileNanos(0.99) / 1_000.0,
+                ticks.maxNanos() / 1_000.0,
+                ticks.count() == 0L ? 0L : allocatedBytes / ticks.count(),
+                flushed.counter(Counter.FLUSHES),
+                flushed.counter(Counter.FLUSHED_BYTES),
+                live.counter(Counter.CAPTURES),
+                expectedCaptures,
+                live.counter(Counter.RELEASES),
+                expectedReleases,
+                skipped
+        );
+    }
+
+    @Benchmark
+    public void replay() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        final Iterator<TraceEvent> events = workload
+                .events()
+                .iterator();
+        TraceEvent next = events.hasNext() ? events.next() : null;
+        for (long tick = 0L; tick <= workload.ticks(); tick++) {
+            final long start = System.nanoTime();
+            while (next != null && next.tick() == tick) {
+                apply(next);
+                next = events.hasNext() ? events.next() : null;
+            }
+            server
+                    .getScheduler()
+                    .performOneTick();
+            tickTimes.record(System.nanoTime() - start);
+        }
+        allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    }
+
+    private void apply(final TraceEvent event) {
+        switch (event) {
+            case TraceEvent.Launch launch -> launch(launch);
+            case TraceEvent.Hit hit -> hit(hit);
+            case TraceEvent.Capture capture -> {
+                if (capture.captured()) {
+                    expectedCaptures++;
+                }
+            }
+            case TraceEvent.Release release -> {
+                if (release.result() == ReleaseResult.RELEASED) {
+                    expectedReleases++;
+                }
+            }
+            case TraceEvent.Command command -> {
+                final CommandSender sender = "console".equals(command.sender())
+                        ? server.getConsoleSender()
+                        : player(command.sender());
+                server.dispatchCommand(sender, command.line());
+            }
+        }
+    }
+
+    private void launch(final TraceEvent.Launch launch) {
+        final PlayerMock player = player(launch.player());
+        final ItemStack ball = launch.filled() ? takeFilledBall(player) : factory.createEmptyBall();
+        if (ball == null) {
+            // The capture that produced this ball did not succeed in the replay
+            skipped++;
+            return;
+        }
+        final World world = server.getWorld(launch.world());
+        player
+                .getInventory()
+                .setItemInMainHand(ball);
+        final Snowball projectile = world.spawn(new Location(world, launch.x(), launch.y(), launch.z()), Snowball.class);
+        projectile.setShooter(player);
+        projectile.setVelocity(new Vector(launch.velocityX(), launch.velocityY(), launch.velocityZ()));
+        server
+                .getPluginManager()
+                .callEvent(new ProjectileLaunchEvent(projectile));
+        // The server takes the thrown ball from a survival hand after the event; MockBukkit does not
+        player
+                .getInventory()
+                .setItemInMainHand(null);
+        inFlight.put(launch.projectile(), projectile);
+    }
+
+    private void hit(final TraceEvent.Hit hit) {
+        final Snowball projectile = inFlight.remove(hit.projectile());
+        if (projectile == null) {
+            skipped++;
+            return;
+        }
+        final World world = server.getWorld(hit.world());
+        final Location at = new Location(world, hit.x(), hit.y(), hit.z());
+        final ProjectileHitEvent event = switch (hit.target()) {
+            case ENTITY -> {
+                final Entity target = world.spawnEntity(at, EntityType.valueOf(hit.entityType()));
+                yield new ProjectileHitEvent(projectile, target, null, null);
+            }
+            case BLOCK -> new ProjectileHitEvent(projectile, null, world.getBlockAt(at), BlockFace.valueOf(hit.blockFace()));
+            case MISS -> {
+                projectile.teleport(at);
+                yield new ProjectileHitEvent(projectile, null, null, null);
+            }
+        };
+        server
+                .getPluginManager()
+                .callEvent(event);
+    }
+
+    private PlayerMock player(final String id) {
+        return players.computeIfAbsent(id, k -> server.addPlayer());
+    }
+
+    /**
+     * Removes and returns a filled ball from the player's inventory, as the recorded player held one
+     */
+    private ItemStack takeFilledBall(final PlayerMock player) {
+        final ItemStack[] contents = player
+                .getInventory()
+                .getContents();
+        for (int slot = 0; slot < contents.length; slot++) {
+            final ItemStack stack = contents[slot];
+            if (stack != null && factory.isFilled(stack)) {
+                player
+                        .getInventory()
+                        .setItem(slot, null);
+                return stack;
+            }
+        }
+        return null;
+    }
+}
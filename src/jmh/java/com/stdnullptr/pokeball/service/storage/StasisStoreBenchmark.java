@@ -0,0 +1,163 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import com.stdnullptr.pokeball.config.models.StorageBackend;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Stasis persistence at realistic sizes, per storage backend: the main-thread cost of a mutation,
+ * the writer-thread cost of flushing one change and a threshold-sized batch (a full YAML snapshot
+ * against a journal append, including amortized compaction), and reading the file at startup.
+ * Lives in the storage package so it can drive {@code flush()} and {@code readAll()} directly;
+ * direct flushes hold the store's monitor, like the writer's own flushes do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StasisStoreBenchmark {
+
+    private static final int FLUSH_THRESHOLD = 64;
+
+    @Param({"YAML", "JOURNAL"})
+    public StorageBackend backend;
+
+    @Param({"1000", "10000", "100000"})
+    public int entries;
+
+    private Path folder;
+
+    private WriteBehindStore store;
+
+    private StasisEntry[] batch;
+
+    private StasisEntry churn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("pokeball-bench");
+        store = open();
+        store.load();
+        for (int i = 0; i < entries; i++) {
+            store.put(entry(i));
+        }
+        batch = new StasisEntry[FLUSH_THRESHOLD];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = entry(entries + i);
+        }
+        churn = entry(entries + batch.length);
+        synchronized (store) {
+            store.flush();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(folder)) {
+            files
+                    .sorted(Comparator.reverseOrder())
+                    .forEach(path -> path
+                            .toFile()
+                            .delete());
+        }
+    }
+
+    /**
+     * One capture followed by its release, as seen by the main thread
+     */
+    @Benchmark
+    public void putThenRemove() {
+        store.put(churn);
+        store.remove(churn.ballId());
+    }
+
+    /**
+     * Writer-thread cost of persisting a single capture
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void flushOneChange() throws Exception {
+        synchronized (store) {
+            store.put(churn);
+            store.flush();
+        }
+    }
+
+    /**
+     * Writer-thread cost of persisting a batch the size of the default flush threshold
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void flushBatch() throws Exception {
+        synchronized (store) {
+            for (final StasisEntry entry : batch) {
+                store.put(entry);
+            }
+            store.flush();
+        }
+    }
+
+    /**
+     * Startup cost of reading every persisted entry
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Map<UUID, StasisEntry> load() {
+        final WriteBehindStore fresh = open();
+        try {
+            return fresh.readAll();
+        } finally {
+            fresh.closeResources();
+        }
+    }
+
+    private WriteBehindStore open() {
+        return switch (backend) {
+            case YAML -> new YamlStasisStore(
+                    folder.resolve("stasis.yml"),
+                    NOPLogger.NOP_LOGGER,
+                    new Metrics(),
+                    5000L,
+                    FLUSH_THRESHOLD
+            );
+            case JOURNAL -> new JournalStasisStore(
+                    folder.resolve("stasis.journal"),
+                    NOPLogger.NOP_LOGGER,
+                    new Metrics(),
+                    5000L,
+                    FLUSH_THRESHOLD,
+                    0.5
+            );
+        };
+    }
+
+    private static StasisEntry entry(final int i) {
+        return new StasisEntry(UUID.randomUUID(), UUID.randomUUID(), "world", i % 7, i % 5, EntityType.COW, null);
+    }
+}
@@ -2,10 +2,21 @@ package com.stdnullptr.pokeball;
 
 import com.stdnullptr.pokeball.command.PokeballCommands;
 import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.ConfigWatcher;
 import com.stdnullptr.pokeball.item.PokeballItemFactory;
 import com.stdnullptr.pokeball.listener.ProjectileListeners;
 import com.stdnullptr.pokeball.listener.StasisCleanupListener;
+import com.stdnullptr.pokeball.message.MessageService;
+import com.stdnullptr.pokeball.metrics.GaugeSnapshot;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import com.stdnullptr.pokeball.metrics.PrometheusExporter;
+import com.stdnullptr.pokeball.metrics.StashLoads;
+import com.stdnullptr.pokeball.service.FlightTrailTicker;
+import com.stdnullptr.pokeball.service.ParticleDispatcher;
+import com.stdnullptr.pokeball.service.ProjectileRegistry;
+import com.stdnullptr.pokeball.service.StasisAuditor;
 import com.stdnullptr.pokeball.service.StasisService;
+import com.stdnullptr.pokeball.trace.WorkloadRecorder;
 import com.stdnullptr.pokeball.util.Keys;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -16,25 +27,40 @@ public final class Pokeball extends JavaPlugin {
     private Logger logger;
     private MiniMessage miniMessage;
     private StasisService stasis;
+    private MessageService messages;
+    private ConfigManager configModel;
+    private ConfigWatcher configWatcher;
+    private StasisAuditor auditor;
+    private Metrics metrics;
+    private PrometheusExporter exporter;
+    private FlightTrailTicker trails;
+    private ProjectileRegistry projectiles;
+    private WorkloadRecorder recorder;
+    private PokeballItemFactory itemFactory;
 
     @Override
     public void onEnable() {
-        final ConfigManager configModel;
         final Keys keys;
-        final PokeballItemFactory itemFactory;
         this.logger = getSLF4JLogger();
         this.miniMessage = MiniMessage.miniMessage();
+        this.metrics = new Metrics();
 
         // Save default config if not present
         saveDefaultConfig();
         configModel = new ConfigManager(this);
+        this.messages = new MessageService(configModel);
+        this.configWatcher = new ConfigWatcher(this, configModel);
 
         // Prepare Keys instance (DI-friendly)
         keys = new Keys(this);
 
         // Services / Factories
-        itemFactory = new PokeballItemFactory(this, configModel, keys);
-        this.stasis = new StasisService(this, configModel);
+        this.itemFactory = new PokeballItemFactory(this, configModel, keys);
+        final ParticleDispatcher particles = new ParticleDispatcher(this, configModel);
+        this.stasis = new StasisService(this, configModel, particles, metrics);
+        this.trails = new FlightTrailTicker(this, configModel, particles);
+        this.projectiles = new ProjectileRegistry(keys);
+        this.recorder = new WorkloadRecorder(this);
 
         // Commands (Paper Brigadier via lifecycle)
         new PokeballCommands(this, itemFactory, configModel).register();
@@ -42,23 +68,95 @@ public final class Pokeball extends JavaPlugin {
         // Listeners: capture and release via thrown projectile, plus cleanup
         getServer()
                 .getPluginManager()
-                .registerEvents(new ProjectileListeners(this, itemFactory, configModel, stasis, keys), this);
+                .registerEvents(
+                        new ProjectileListeners(
+                                this,
+                                itemFactory,
+                                configModel,
+                                stasis,
+                                trails,
+                                particles,
+                                projectiles,
+                                messages,
+                                metrics,
+                                recorder
+                        ),
+                        this
+                );
         getServer()
                 .getPluginManager()
                 .registerEvents(new StasisCleanupListener(stasis), this);
+        // Workload recording for /pokeball admin trace; idle until started
+        getServer()
+                .getPluginManager()
+                .registerEvents(recorder, this);
+
+        // Optional hot reload of config.yml edited outside the game
+        configWatcher.sync();
 
-        // Cleanup stale stasis entries asynchronously on startup (batched per tick)
-        stasis.cleanupInvalidAsync(logger);
+        // Audit stasis entries shortly after startup and then periodically, within a per-tick time budget
+        this.auditor = new StasisAuditor(this, configModel, stasis, metrics);
+        auditor.start();
+
+        // Optional Prometheus endpoint, served from its own thread
+        this.exporter = new PrometheusExporter(this, configModel, metrics, this::sampleGauges);
+        exporter.sync();
 
         logger.info("Pokeball enabled.");
     }
 
     @Override
     public void onDisable() {
+        if (exporter != null) {
+            exporter.stop();
+        }
+        if (auditor != null) {
+            auditor.stop();
+        }
+        if (recorder != null) {
+            recorder.stop();
+        }
+        // Drain pending stasis writes so nothing is lost on shutdown
+        if (stasis != null) {
+            stasis.shutdown();
+        }
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        if (configModel != null) {
+            configModel.close();
+        }
         logger.info("Pokeball disabled.");
     }
 
+    /**
+     * Samples main-thread state for the exporter; main thread only. Constant time: stasis counts
+     * come from the snapshot StasisService republishes on every change.
+     */
+    private GaugeSnapshot sampleGauges() {
+        final StashLoads loads = stasis.loads();
+        return new GaugeSnapshot(
+                loads.liveByWorld(),
+                loads.virtualByWorld(),
+                loads.shards(),
+                stasis.pendingWrites(),
+                trails.size(),
+                trails.running(),
+                projectiles.size()
+        );
+    }
+
     public MiniMessage mini() { return miniMessage; }
 
     public StasisService stasis() { return stasis; }
+
+    public MessageService messages() { return messages; }
+
+    public StasisAuditor auditor() { return auditor; }
+
+    public Metrics metrics() { return metrics; }
+
+    public WorkloadRecorder recorder() { return recorder; }
+
+    public PokeballItemFactory items() { return itemFactory; }
 }
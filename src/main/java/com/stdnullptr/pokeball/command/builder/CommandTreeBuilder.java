@@ -82,7 +82,9 @@ public final class CommandTreeBuilder {
                 .then(buildCleanCommand())
                 .then(buildCapacityCommands())
                 .then(buildRefundCommands())
-                .then(buildCaptureEntityCommands());
+                .then(buildCaptureEntityCommands())
+                .then(buildStatsCommand())
+                .then(buildTraceCommand());
     }
 
     private LiteralArgumentBuilder<CommandSourceStack> buildListCommand() {
@@ -90,6 +92,20 @@ public final class CommandTreeBuilder {
                 .executes(adminExecutor::list);
     }
 
+    private LiteralArgumentBuilder<CommandSourceStack> buildStatsCommand() {
+        return Commands.literal("stats")
+                .executes(adminExecutor::stats);
+    }
+
+    private LiteralArgumentBuilder<CommandSourceStack> buildTraceCommand() {
+        return Commands.literal("trace")
+                .executes(adminExecutor::traceStatus)
+                .then(Commands.literal("start")
+                        .executes(adminExecutor::traceStart))
+                .then(Commands.literal("stop")
+                        .executes(adminExecutor::traceStop));
+    }
+
     private LiteralArgumentBuilder<CommandSourceStack> buildTeleportCommand() {
         return Commands.literal("tp")
                 .executes(adminExecutor::showTpUsage)
@@ -103,7 +119,9 @@ public final class CommandTreeBuilder {
                 .executes(adminExecutor::showCleanUsage)
                 .then(Commands.argument("target", StringArgumentType.word())
                         .suggests(suggestions.stasisIdsWithAll())
-                        .executes(adminExecutor::clean));
+                        .executes(adminExecutor::clean)
+                        .then(Commands.literal("despawn")
+                                .executes(adminExecutor::cleanAndDespawn)));
     }
 
     private LiteralArgumentBuilder<CommandSourceStack> buildCapacityCommands() {
@@ -7,14 +7,22 @@ import com.mojang.brigadier.context.CommandContext;
 import com.stdnullptr.pokeball.Pokeball;
 import com.stdnullptr.pokeball.config.ConfigManager;
 import com.stdnullptr.pokeball.config.models.RefundMode;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.HistogramSnapshot;
+import com.stdnullptr.pokeball.metrics.MetricsSnapshot;
+import com.stdnullptr.pokeball.metrics.Timer;
+import com.stdnullptr.pokeball.service.StasisAuditor;
+import com.stdnullptr.pokeball.service.storage.StasisEntry;
+import com.stdnullptr.pokeball.trace.WorkloadRecorder;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -26,6 +34,8 @@ public final class AdminCommandExecutor {
 
     private static final String ALLOWED_ENTITY_TYPES_PATH = "capture.allowed-entity-types";
 
+    private static final String EDIT_FAILED = "<red>Could not update the configuration; nothing was changed. See console.</red>";
+
     private final Pokeball plugin;
 
     private final ConfigManager config;
@@ -41,7 +51,7 @@ public final class AdminCommandExecutor {
     public int showUsage(final CommandContext<CommandSourceStack> ctx) {
         ctx.getSource()
            .getSender()
-           .sendMessage(msg("<yellow>Usage:</yellow> /pokeball admin <list|tp|clean|cap|refund|capture>"));
+           .sendMessage(msg("<yellow>Usage:</yellow> /pokeball admin <list|tp|clean|cap|refund|capture|stats|trace>"));
 
         return Command.SINGLE_SUCCESS;
     }
@@ -58,10 +68,10 @@ public final class AdminCommandExecutor {
         sender.sendMessage(msg("<gray>Stasis entries: <yellow>" + ids.size() + "</yellow>"));
 
         int i = 0;
-        for (final String id : ids) {
-            final var type = plugin.stasis().typeOf(UUID.fromString(id));
+        for (final UUID id : ids) {
+            final var type = plugin.stasis().typeOf(id);
             final String typeName = (type == null) ? "UNKNOWN" : type.name();
-            final String shortId = id.substring(0, 8);
+            final String shortId = id.toString().substring(0, 8);
 
             sender.sendMessage(msg("<gray>- [" + (i++) + "] <yellow>" + shortId + "</yellow> <green>" + typeName + "</green>"));
 
@@ -127,7 +137,7 @@ public final class AdminCommandExecutor {
     public int showCleanUsage(final CommandContext<CommandSourceStack> ctx) {
         ctx.getSource()
            .getSender()
-           .sendMessage(msg("<yellow>Usage:</yellow> /pokeball admin clean <id|all>"));
+           .sendMessage(msg("<yellow>Usage:</yellow> /pokeball admin clean <id|all> [despawn]"));
 
         return Command.SINGLE_SUCCESS;
     }
@@ -136,32 +146,53 @@ public final class AdminCommandExecutor {
      * Removes a specific id or all ids from stasis storage
      */
     public int clean(final CommandContext<CommandSourceStack> ctx) {
+        return clean(ctx, false);
+    }
+
+    /**
+     * Removes a specific id or all ids from stasis storage and despawns their parked mobs
+     */
+    public int cleanAndDespawn(final CommandContext<CommandSourceStack> ctx) {
+        return clean(ctx, true);
+    }
+
+    private int clean(final CommandContext<CommandSourceStack> ctx, final boolean despawn) {
         final var sender = ctx.getSource().getSender();
         final String target = StringArgumentType.getString(ctx, "target");
 
         if ("all".equalsIgnoreCase(target)) {
-            return cleanAll(sender);
+            return cleanAll(sender, despawn);
         } else {
-            return cleanSingle(sender, target);
+            return cleanSingle(sender, target, despawn);
         }
     }
 
-    private int cleanAll(final CommandSender sender) {
-        final var ids = new HashSet<>(plugin.stasis().ids());
-
-        for (final String id : ids) {
-            plugin.stasis().remove(UUID.fromString(id));
+    private int cleanAll(final CommandSender sender, final boolean despawn) {
+        // One store transaction for the whole batch instead of one mutation per id
+        final List<StasisEntry> removed = plugin
+                .stasis()
+                .removeAll(new ArrayList<>(plugin
+                                                   .stasis()
+                                                   .ids()));
+
+        final int count = removed.size();
+        sender.sendMessage(msg("<green>Cleared <yellow>" + count + "</yellow> stasis entr" + (count == 1 ? "y" : "ies") + ".</green>"));
+        if (despawn) {
+            despawn(sender, removed);
         }
-
-        sender.sendMessage(msg("<green>Cleared all stasis entries.</green>"));
         return Command.SINGLE_SUCCESS;
     }
 
-    private int cleanSingle(final CommandSender sender, final String target) {
+    private int cleanSingle(final CommandSender sender, final String target, final boolean despawn) {
         try {
             final UUID id = UUID.fromString(target);
-            plugin.stasis().remove(id);
+            final List<StasisEntry> removed = plugin
+                    .stasis()
+                    .removeAll(List.of(id));
             sender.sendMessage(msg("<green>Removed " + id + ".</green>"));
+            if (despawn) {
+                despawn(sender, removed);
+            }
 
             return Command.SINGLE_SUCCESS;
         } catch (final IllegalArgumentException ex) {
@@ -170,6 +201,165 @@ public final class AdminCommandExecutor {
         }
     }
 
+    private void despawn(final CommandSender sender, final List<StasisEntry> removed) {
+        // Report roughly every 10% so large cleans show progress without flooding chat
+        final int[] nextReport = {0};
+        plugin
+                .stasis()
+                .despawn(removed, (checked, total) -> {
+                    if (checked < total && checked >= nextReport[0]) {
+                        nextReport[0] = checked + Math.max(1, total / 10);
+                        sender.sendMessage(msg("<gray>Despawning parked mobs: <yellow>" + checked + "/" + total + "</yellow></gray>"));
+                    }
+                })
+                .whenComplete((despawned, error) -> {
+                    if (error != null) {
+                        sender.sendMessage(msg("<red>Despawning parked mobs failed. See console.</red>"));
+                        plugin
+                                .getSLF4JLogger()
+                                .error("Failed to despawn parked mobs", error);
+                        return;
+                    }
+                    sender.sendMessage(msg("<green>Despawned <yellow>" + despawned + "</yellow> parked mob(s).</green>"));
+                });
+    }
+
+    // STATS COMMAND
+
+    /**
+     * Shows latency percentiles, event rates and storage state
+     */
+    public int stats(final CommandContext<CommandSourceStack> ctx) {
+        final var sender = ctx.getSource().getSender();
+        final MetricsSnapshot snapshot = plugin
+                .metrics()
+                .snapshot();
+
+        sender.sendMessage(msg("<gray>Pokeball stats, uptime <yellow>" + formatUptime(snapshot.uptimeNanos()) + "</yellow>"));
+        sender.sendMessage(msg("<gray>Stasis: <yellow>" + plugin
+                .stasis()
+                .ids()
+                .size() + "</yellow> entries, <yellow>" + plugin
+                .stasis()
+                .pendingWrites() + "</yellow> pending writes"));
+        sender.sendMessage(msg(rateLine("Captures", snapshot, Counter.CAPTURES, Counter.CAPTURE_FAILURES)));
+        sender.sendMessage(msg(rateLine("Releases", snapshot, Counter.RELEASES, Counter.RELEASE_FAILURES)));
+        sender.sendMessage(msg(rateLine("Flushes", snapshot, Counter.FLUSHES, Counter.FLUSH_FAILURES)));
+        for (final Timer timer : Timer.values()) {
+            final HistogramSnapshot histogram = snapshot.timer(timer);
+            if (histogram.count() == 0L) {
+                continue;
+            }
+            sender.sendMessage(msg("<gray>" + timer
+                    .name()
+                    .toLowerCase(Locale.ROOT) + ": n=<yellow>" + histogram.count()
+                                           + "</yellow> p50=<yellow>" + formatNanos(histogram.quantileNanos(0.50))
+                                           + "</yellow> p95=<yellow>" + formatNanos(histogram.quantileNanos(0.95))
+                                           + "</yellow> p99=<yellow>" + formatNanos(histogram.quantileNanos(0.99))
+                                           + "</yellow> max=<yellow>" + formatNanos(histogram.maxNanos()) + "</yellow>"));
+        }
+
+        final StasisAuditor.Stats audit = plugin
+                .auditor()
+                .lastRun();
+        if (audit != null) {
+            sender.sendMessage(msg("<gray>Last audit: <yellow>" + audit.scanned() + "</yellow> checked, <yellow>"
+                                           + audit.removed() + "</yellow> removed in <yellow>"
+                                           + formatNanos(audit.durationNanos()) + "</yellow>"));
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    // TRACE COMMANDS
+
+    /**
+     * Shows whether a workload trace is being recorded
+     */
+    public int traceStatus(final CommandContext<CommandSourceStack> ctx) {
+        final var sender = ctx.getSource().getSender();
+        final WorkloadRecorder recorder = plugin.recorder();
+
+        if (!recorder.recording()) {
+            sender.sendMessage(msg("<gray>Not recording. <yellow>Usage:</yellow> /pokeball admin trace <start|stop>"));
+            return Command.SINGLE_SUCCESS;
+        }
+        sender.sendMessage(msg("<gray>Recording to <yellow>" + recorder
+                .file()
+                .getFileName() + "</yellow>, <yellow>" + recorder.recordedEvents() + "</yellow> events so far"));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Starts recording launches, hits, outcomes and commands to a trace file
+     */
+    public int traceStart(final CommandContext<CommandSourceStack> ctx) {
+        final var sender = ctx.getSource().getSender();
+        final WorkloadRecorder recorder = plugin.recorder();
+
+        if (recorder.recording()) {
+            sender.sendMessage(msg("<red>Already recording to " + recorder
+                    .file()
+                    .getFileName() + ".</red>"));
+            return 0;
+        }
+        try {
+            final Path file = recorder.start();
+            sender.sendMessage(msg("<green>Recording workload to <yellow>" + file.getFileName() + "</yellow></green>"));
+            return Command.SINGLE_SUCCESS;
+        } catch (final IOException e) {
+            plugin
+                    .getSLF4JLogger()
+                    .error("Could not start a workload trace", e);
+            sender.sendMessage(msg("<red>Could not create the trace file. See console.</red>"));
+            return 0;
+        }
+    }
+
+    /**
+     * Stops recording and closes the trace file
+     */
+    public int traceStop(final CommandContext<CommandSourceStack> ctx) {
+        final var sender = ctx.getSource().getSender();
+        final int events = plugin
+                .recorder()
+                .recordedEvents();
+        final Path file = plugin
+                .recorder()
+                .stop();
+
+        if (file == null) {
+            sender.sendMessage(msg("<red>Not recording.</red>"));
+            return 0;
+        }
+        sender.sendMessage(msg("<green>Saved <yellow>" + events + "</yellow> events to <yellow>" + file.getFileName() + "</yellow></green>"));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static String rateLine(
+            final String label,
+            final MetricsSnapshot snapshot,
+            final Counter ok,
+            final Counter failed
+    ) {
+        return "<gray>" + label + ": <yellow>" + snapshot.counter(ok) + "</yellow> ok, <yellow>" + snapshot.counter(failed)
+                + "</yellow> failed (<yellow>" + String.format(Locale.ROOT, "%.2f", snapshot.perMinute(ok)) + "</yellow>/min)";
+    }
+
+    private static String formatNanos(final long nanos) {
+        if (nanos < 1_000_000L) {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000L) {
+            return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        }
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    private static String formatUptime(final long nanos) {
+        final long minutes = nanos / 60_000_000_000L;
+        return minutes < 60L ? minutes + "m" : (minutes / 60L) + "h " + (minutes % 60L) + "m";
+    }
+
     // CAPTURE ALLOW-LIST COMMANDS
 
     /**
@@ -187,19 +377,15 @@ public final class AdminCommandExecutor {
      */
     public int listAllowedCaptureTypes(final CommandContext<CommandSourceStack> ctx) {
         final var sender = ctx.getSource().getSender();
-        final var allowed = config.capture().allowedTypes();
+        final List<String> names = config
+                .capture()
+                .allowedTypeNames();
 
-        if (allowed.isEmpty()) {
+        if (names.isEmpty()) {
             sender.sendMessage(msg("<red>No allowed entity types configured.</red>"));
             return Command.SINGLE_SUCCESS;
         }
 
-        final List<String> names = allowed
-                .stream()
-                .map(EntityType::name)
-                .sorted(String.CASE_INSENSITIVE_ORDER)
-                .toList();
-
         sender.sendMessage(msg("<gray>Allowed entities (" + names.size() + "): <green>" + String.join(", ", names) + "</green>"));
         return Command.SINGLE_SUCCESS;
     }
@@ -217,25 +403,27 @@ public final class AdminCommandExecutor {
             return 0;
         }
 
-        final var conf = plugin.getConfig();
-        final List<String> allowed = new ArrayList<>(conf.getStringList(ALLOWED_ENTITY_TYPES_PATH));
         final String typeName = type.name();
-
-        final boolean alreadyAllowed = allowed
-                .stream()
-                .anyMatch(existing -> existing.equalsIgnoreCase(typeName));
-        if (alreadyAllowed) {
-            sender.sendMessage(msg("<yellow>" + typeName + "</yellow> is already allowed."));
-            return 0;
-        }
-
-        allowed.add(typeName);
-        allowed.sort(String.CASE_INSENSITIVE_ORDER);
-        conf.set(ALLOWED_ENTITY_TYPES_PATH, allowed);
-        plugin.saveConfig();
-        config.reload();
-
-        sender.sendMessage(msg("<green>Added <yellow>" + typeName + "</yellow> to the capture allow-list.</green>"));
+        config
+                .edit(conf -> {
+                    final List<String> allowed = new ArrayList<>(conf.getStringList(ALLOWED_ENTITY_TYPES_PATH));
+                    if (containsIgnoreCase(allowed, typeName)) {
+                        return AllowListEdit.ALREADY_PRESENT;
+                    }
+                    allowed.add(typeName);
+                    allowed.sort(String.CASE_INSENSITIVE_ORDER);
+                    conf.set(ALLOWED_ENTITY_TYPES_PATH, allowed);
+                    return AllowListEdit.CHANGED;
+                })
+                .whenComplete((outcome, error) -> {
+                    if (error != null) {
+                        sender.sendMessage(msg(EDIT_FAILED));
+                    } else if (outcome == AllowListEdit.ALREADY_PRESENT) {
+                        sender.sendMessage(msg("<yellow>" + typeName + "</yellow> is already allowed."));
+                    } else {
+                        sender.sendMessage(msg("<green>Added <yellow>" + typeName + "</yellow> to the capture allow-list.</green>"));
+                    }
+                });
         return Command.SINGLE_SUCCESS;
     }
 
@@ -252,30 +440,42 @@ public final class AdminCommandExecutor {
             return 0;
         }
 
-        final var conf = plugin.getConfig();
-        final List<String> allowed = new ArrayList<>(conf.getStringList(ALLOWED_ENTITY_TYPES_PATH));
         final String typeName = type.name();
+        config
+                .edit(conf -> {
+                    final List<String> allowed = new ArrayList<>(conf.getStringList(ALLOWED_ENTITY_TYPES_PATH));
+                    if (!containsIgnoreCase(allowed, typeName)) {
+                        return AllowListEdit.NOT_PRESENT;
+                    }
+                    if (allowed.size() <= 1) {
+                        return AllowListEdit.LAST_ENTRY;
+                    }
+                    allowed.removeIf(existing -> existing.equalsIgnoreCase(typeName));
+                    allowed.sort(String.CASE_INSENSITIVE_ORDER);
+                    conf.set(ALLOWED_ENTITY_TYPES_PATH, allowed);
+                    return AllowListEdit.CHANGED;
+                })
+                .whenComplete((outcome, error) -> {
+                    if (error != null) {
+                        sender.sendMessage(msg(EDIT_FAILED));
+                        return;
+                    }
+                    switch (outcome) {
+                        case NOT_PRESENT -> sender.sendMessage(msg("<red>" + typeName + " is not currently allowed.</red>"));
+                        case LAST_ENTRY -> sender.sendMessage(msg("<red>Cannot remove the final allowed entity type.</red>"));
+                        default -> sender.sendMessage(msg("<green>Removed <yellow>" + typeName + "</yellow> from the capture allow-list.</green>"));
+                    }
+                });
+        return Command.SINGLE_SUCCESS;
+    }
 
-        final boolean present = allowed
-                .stream()
-                .anyMatch(existing -> existing.equalsIgnoreCase(typeName));
-        if (!present) {
-            sender.sendMessage(msg("<red>" + typeName + " is not currently allowed.</red>"));
-            return 0;
-        }
-        if (allowed.size() <= 1) {
-            sender.sendMessage(msg("<red>Cannot remove the final allowed entity type.</red>"));
-            return 0;
+    private static boolean containsIgnoreCase(final List<String> values, final String value) {
+        for (final String existing : values) {
+            if (existing.equalsIgnoreCase(value)) {
+                return true;
+            }
         }
-
-        allowed.removeIf(existing -> existing.equalsIgnoreCase(typeName));
-        allowed.sort(String.CASE_INSENSITIVE_ORDER);
-        conf.set(ALLOWED_ENTITY_TYPES_PATH, allowed);
-        plugin.saveConfig();
-        config.reload();
-
-        sender.sendMessage(msg("<green>Removed <yellow>" + typeName + "</yellow> from the capture allow-list.</green>"));
-        return Command.SINGLE_SUCCESS;
+        return false;
     }
 
     private EntityType resolveEntityType(final String rawInput) {
@@ -316,13 +516,15 @@ public final class AdminCommandExecutor {
     }
 
     private int setCapacity(final CommandSender sender, final int maxTotal) {
-        final var conf = plugin.getConfig();
-        conf.set("stasis.cap.max-total", maxTotal);
-        plugin.saveConfig();
-        config.reload();
-
         final String status = (maxTotal > 0) ? "" + maxTotal : "unlimited";
-        sender.sendMessage(msg("<green>Storage cap set to: <yellow>" + status + "</yellow></green>"));
+        config
+                .edit(conf -> {
+                    conf.set("stasis.cap.max-total", maxTotal);
+                    return null;
+                })
+                .whenComplete((ignored, error) -> sender.sendMessage(msg(error != null
+                        ? EDIT_FAILED
+                        : "<green>Storage cap set to: <yellow>" + status + "</yellow></green>")));
 
         return Command.SINGLE_SUCCESS;
     }
@@ -366,16 +568,28 @@ public final class AdminCommandExecutor {
             return 0;
         }
 
-        final var conf = plugin.getConfig();
-        conf.set("refund.mode", mode.name());
-        plugin.saveConfig();
-        config.reload();
-
-        sender.sendMessage(msg("<green>Refund mode set to <yellow>" + mode.name() + "</yellow></green>"));
+        config
+                .edit(conf -> {
+                    conf.set("refund.mode", mode.name());
+                    return null;
+                })
+                .whenComplete((ignored, error) -> sender.sendMessage(msg(error != null
+                        ? EDIT_FAILED
+                        : "<green>Refund mode set to <yellow>" + mode.name() + "</yellow></green>")));
         return Command.SINGLE_SUCCESS;
     }
 
     private Component msg(final String miniMessage) {
         return plugin.mini().deserialize(miniMessage);
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of an allow-list edit, decided against the config file on the config worker
+     */
+    private enum AllowListEdit {
+        CHANGED,
+        ALREADY_PRESENT,
+        NOT_PRESENT,
+        LAST_ENTRY
+    }
+}
@@ -4,6 +4,7 @@ import com.mojang.brigadier.Command;
 import com.mojang.brigadier.context.CommandContext;
 import com.stdnullptr.pokeball.Pokeball;
 import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.MessageKey;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import net.kyori.adventure.text.Component;
 
@@ -50,9 +51,9 @@ public final class BasicCommandExecutor {
             lines.add(msg("<yellow>/pokeball admin refund [mode]</yellow> <gray>- Refund behavior</gray>"));
         }
 
-        sender.sendMessage(msg(config
-                                       .messages()
-                                       .getPrefix()));
+        plugin
+                .messages()
+                .sendHeader(sender);
         for (final Component line : lines) {
             sender.sendMessage(line);
         }
@@ -80,14 +81,21 @@ public final class BasicCommandExecutor {
      * Reloads plugin configuration
      */
     public int reload(final CommandContext<CommandSourceStack> ctx) {
-        config.reload();
-        ctx.getSource()
-           .getSender()
-           .sendMessage(msg(config
-                                    .messages()
-                                    .getPrefix() + " " + config
-                   .messages()
-                   .getReloaded()));
+        final var sender = ctx
+                .getSource()
+                .getSender();
+        // Parsed off the main thread; the reply follows once the new config is live
+        config
+                .reload()
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        sender.sendMessage(msg("<red>Reload failed; the previous configuration is still active. See console.</red>"));
+                        return;
+                    }
+                    plugin
+                            .messages()
+                            .send(sender, MessageKey.RELOADED);
+                });
 
         return Command.SINGLE_SUCCESS;
     }
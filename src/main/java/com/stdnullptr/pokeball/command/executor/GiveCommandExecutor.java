@@ -6,11 +6,14 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.stdnullptr.pokeball.Pokeball;
 import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.MessageKey;
 import com.stdnullptr.pokeball.item.PokeballItemFactory;
+import com.stdnullptr.pokeball.message.MessageArgs;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
@@ -83,21 +86,19 @@ public final class GiveCommandExecutor {
         final Player target = players.getFirst();
         final int finalAmount = Math.max(1, amount);
 
-        // Give the pokeballs to the target player
-        for (int i = 0; i < finalAmount; i++) {
-            target.getInventory().addItem(itemFactory.createEmptyBall());
-        }
+        // Give the pokeballs to the target player; empty balls stack, so this is a handful of stacks
+        target
+                .getInventory()
+                .addItem(itemFactory
+                                 .createEmptyBalls(finalAmount)
+                                 .toArray(ItemStack[]::new));
 
         // Send confirmation message
-        final String givenMessage = config.messages().getGiven();
-        final String confirmationMessage = config.messages().getPrefix() + " " +
-                (givenMessage != null ? givenMessage : "<green>Gave <yellow><count></yellow> Pokeball(s) to <yellow><player></yellow>.")
-                .replace("<count>", String.valueOf(finalAmount))
-                .replace("<player>", target.getName());
-
-        ctx.getSource()
-           .getSender()
-           .sendMessage(msg(confirmationMessage));
+        plugin
+                .messages()
+                .send(ctx
+                              .getSource()
+                              .getSender(), MessageKey.GIVEN, MessageArgs.given(finalAmount, target.getName()));
 
         return Command.SINGLE_SUCCESS;
     }
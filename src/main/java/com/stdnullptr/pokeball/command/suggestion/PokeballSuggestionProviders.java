@@ -13,7 +13,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * Centralized suggestion providers for Pokeball commands
@@ -22,6 +22,13 @@ public final class PokeballSuggestionProviders {
 
     private static final Set<EntityType> EXCLUDED_ENTITY_TYPES = EnumSet.of(EntityType.UNKNOWN);
 
+    private static final List<EntityType> SORTED_ENTITY_TYPES = sortedEntityTypes();
+
+    private static final List<String> SORTED_ENTITY_NAMES = SORTED_ENTITY_TYPES
+            .stream()
+            .map(EntityType::name)
+            .toList();
+
     private final StasisService stasisService;
     private final ConfigManager config;
 
@@ -47,8 +54,8 @@ public final class PokeballSuggestionProviders {
      */
     public SuggestionProvider<CommandSourceStack> stasisIds() {
         return (ctx, builder) -> {
-            for (final String id : stasisService.ids()) {
-                builder.suggest(id);
+            for (final UUID id : stasisService.ids()) {
+                builder.suggest(id.toString());
             }
             return builder.buildFuture();
         };
@@ -60,8 +67,8 @@ public final class PokeballSuggestionProviders {
     public SuggestionProvider<CommandSourceStack> stasisIdsWithAll() {
         return (ctx, builder) -> {
             builder.suggest("all");
-            for (final String id : stasisService.ids()) {
-                builder.suggest(id);
+            for (final UUID id : stasisService.ids()) {
+                builder.suggest(id.toString());
             }
             return builder.buildFuture();
         };
@@ -95,20 +102,13 @@ public final class PokeballSuggestionProviders {
      */
     public SuggestionProvider<CommandSourceStack> capturableEntitiesToAdd() {
         return (ctx, builder) -> {
-            final Set<String> alreadyAllowed = config
-                    .capture()
-                    .allowedTypes()
-                    .stream()
-                    .map(EntityType::name)
-                    .collect(Collectors.toSet());
-
-            final List<String> candidates = sortedEntityTypes()
-                    .stream()
-                    .map(EntityType::name)
-                    .filter(name -> !alreadyAllowed.contains(name))
-                    .toList();
-
-            suggestMatching(candidates, builder);
+            final var capture = config.capture();
+            final String remaining = builder.getRemainingLowerCase();
+            for (int i = 0; i < SORTED_ENTITY_TYPES.size(); i++) {
+                if (!capture.isAllowed(SORTED_ENTITY_TYPES.get(i))) {
+                    suggestIfMatching(SORTED_ENTITY_NAMES.get(i), remaining, builder);
+                }
+            }
             return builder.buildFuture();
         };
     }
@@ -118,20 +118,14 @@ public final class PokeballSuggestionProviders {
      */
     public SuggestionProvider<CommandSourceStack> capturableEntitiesToRemove() {
         return (ctx, builder) -> {
-            final List<String> allowed = config
-                    .capture()
-                    .allowedTypes()
-                    .stream()
-                    .map(EntityType::name)
-                    .sorted()
-                    .toList();
-
-            suggestMatching(allowed, builder);
+            suggestMatching(config
+                                    .capture()
+                                    .allowedTypeNames(), builder);
             return builder.buildFuture();
         };
     }
 
-    private List<EntityType> sortedEntityTypes() {
+    private static List<EntityType> sortedEntityTypes() {
         final List<EntityType> types = new ArrayList<>();
         for (final EntityType type : EntityType.values()) {
             if (EXCLUDED_ENTITY_TYPES.contains(type)) {
@@ -140,17 +134,20 @@ public final class PokeballSuggestionProviders {
             types.add(type);
         }
         types.sort(Comparator.comparing(type -> type.name().toUpperCase(Locale.ENGLISH)));
-        return types;
+        return List.copyOf(types);
     }
 
     private void suggestMatching(final List<String> candidates, final SuggestionsBuilder builder) {
         final String remaining = builder.getRemainingLowerCase();
 
         for (final String candidate : candidates) {
-            final String candidateLower = candidate.toLowerCase(Locale.ENGLISH);
-            if (remaining.isEmpty() || candidateLower.startsWith(remaining)) {
-                builder.suggest(candidate);
-            }
+            suggestIfMatching(candidate, remaining, builder);
+        }
+    }
+
+    private static void suggestIfMatching(final String candidate, final String remaining, final SuggestionsBuilder builder) {
+        if (remaining.isEmpty() || candidate.regionMatches(true, 0, remaining, 0, remaining.length())) {
+            builder.suggest(candidate);
         }
     }
 }
\ No newline at end of file
@@ -1,20 +1,33 @@
 package com.stdnullptr.pokeball.config;
 
+import com.stdnullptr.pokeball.config.models.HotReloadSpec;
+import com.stdnullptr.pokeball.config.models.PrometheusSpec;
 import com.stdnullptr.pokeball.config.sections.CaptureConfig;
 import com.stdnullptr.pokeball.config.sections.EffectsConfig;
 import com.stdnullptr.pokeball.config.sections.ItemConfig;
 import com.stdnullptr.pokeball.config.sections.MessagesConfig;
 import com.stdnullptr.pokeball.config.sections.StasisConfig;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 import org.slf4j.Logger;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Handles loading and reloading of configuration from FileConfiguration
- * Centralizes the config loading logic and provides clean separation
+ * Centralizes the config loading logic and provides clean separation.
+ * Reads config.yml directly rather than through the plugin's shared config object, so loading
+ * is safe off the main thread.
  */
 public final class ConfigLoader {
 
+    private static final String FILE_NAME = "config.yml";
+
     private final Plugin plugin;
 
     private final Logger logger;
@@ -30,21 +43,69 @@ public final class ConfigLoader {
      * @return ConfigData containing all parsed configuration sections
      */
     public ConfigData loadConfig() {
+        return parse(readDocument());
+    }
+
+    /**
+     * Reads config.yml from disk, with the bundled defaults attached
+     */
+    public YamlConfiguration readDocument() {
+        return readDocument(readFile());
+    }
+
+    /**
+     * Reads the raw text of config.yml, saving the bundled default first if it is missing
+     */
+    public String readFile() {
         try {
             // Ensure default config is saved
             plugin.saveDefaultConfig();
+            return Files.readString(file(), StandardCharsets.UTF_8);
+        } catch (final Exception e) {
+            logger.error("Failed to read configuration", e);
+            throw new IllegalStateException("Configuration loading failed", e);
+        }
+    }
 
-            // Reload to get latest changes
-            plugin.reloadConfig();
-
-            final FileConfiguration config = plugin.getConfig();
+    /**
+     * Parses {@code content} as YAML, with the bundled defaults attached
+     */
+    public YamlConfiguration readDocument(final String content) {
+        try {
+            final YamlConfiguration config = new YamlConfiguration();
+            config.loadFromString(content);
+            try (InputStream defaults = plugin.getResource(FILE_NAME)) {
+                if (defaults != null) {
+                    config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+                }
+            }
+            return config;
+        } catch (final Exception e) {
+            logger.error("Failed to read configuration", e);
+            throw new IllegalStateException("Configuration loading failed", e);
+        }
+    }
 
+    /**
+     * Parses and validates every section of {@code config}
+     */
+    public ConfigData parse(final FileConfiguration config) {
+        try {
             // Load each section independently
             final var itemConfig = new ItemConfig(config);
             final var captureConfig = new CaptureConfig(config, logger);
             final var stasisConfig = new StasisConfig(config);
-            final var effectsConfig = new EffectsConfig(config);
+            final var effectsConfig = new EffectsConfig(config, logger);
             final var messagesConfig = new MessagesConfig(config);
+            final var hotReload = new HotReloadSpec(
+                    config.getBoolean("hot-reload.enabled", false),
+                    config.getLong("hot-reload.debounce-ms", 500L)
+            );
+            final var prometheus = new PrometheusSpec(
+                    config.getBoolean("metrics.prometheus.enabled", false),
+                    config.getString("metrics.prometheus.host", "127.0.0.1"),
+                    config.getInt("metrics.prometheus.port", 9464)
+            );
 
             logger.info("Configuration loaded successfully");
 
@@ -53,7 +114,9 @@ public final class ConfigLoader {
                     captureConfig,
                     stasisConfig,
                     effectsConfig,
-                    messagesConfig
+                    messagesConfig,
+                    hotReload,
+                    prometheus
             );
 
         } catch (final Exception e) {
@@ -62,6 +125,13 @@ public final class ConfigLoader {
         }
     }
 
+    public Path file() {
+        return plugin
+                .getDataFolder()
+                .toPath()
+                .resolve(FILE_NAME);
+    }
+
     /**
      * Record to hold all configuration sections
      * Provides immutable access to all config data
@@ -71,7 +141,9 @@ public final class ConfigLoader {
             CaptureConfig captureConfig,
             StasisConfig stasisConfig,
             EffectsConfig effectsConfig,
-            MessagesConfig messagesConfig
+            MessagesConfig messagesConfig,
+            HotReloadSpec hotReload,
+            PrometheusSpec prometheus
     ) {
     }
 }
@@ -1,32 +1,200 @@
 package com.stdnullptr.pokeball.config;
 
+import com.stdnullptr.pokeball.config.models.HotReloadSpec;
+import com.stdnullptr.pokeball.config.models.PrometheusSpec;
 import com.stdnullptr.pokeball.config.sections.CaptureConfig;
 import com.stdnullptr.pokeball.config.sections.EffectsConfig;
 import com.stdnullptr.pokeball.config.sections.ItemConfig;
 import com.stdnullptr.pokeball.config.sections.MessagesConfig;
 import com.stdnullptr.pokeball.config.sections.StasisConfig;
+import com.stdnullptr.pokeball.util.AtomicFiles;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
 /**
  * Main configuration manager acting as a facade for all configuration sections
- * Replaces the monolithic PluginConfig with a properly structured, immutable design
+ * Replaces the monolithic PluginConfig with a properly structured, immutable design.
+ * Reloads and edits are read, parsed and written on a single config worker thread and
+ * published with one volatile swap, so readers always see a complete, consistent snapshot.
  */
 public final class ConfigManager {
 
+    private final Plugin plugin;
+
     private final ConfigLoader configLoader;
 
-    private ConfigLoader.ConfigData configData;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService worker;
+
+    private final Executor mainThread;
+
+    private volatile ConfigLoader.ConfigData configData;
+
+    /**
+     * Text of config.yml behind the published snapshot; only touched on the worker after construction
+     */
+    private String loadedContent;
 
     public ConfigManager(final Plugin plugin) {
+        this.plugin = plugin;
         this.configLoader = new ConfigLoader(plugin);
-        reload();
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "Pokeball-Config");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mainThread = plugin
+                .getServer()
+                .getScheduler()
+                .getMainThreadExecutor(plugin);
+        // The plugin cannot enable without a config, so the first load blocks
+        this.loadedContent = configLoader.readFile();
+        this.configData = configLoader.parse(configLoader.readDocument(loadedContent));
+    }
+
+    /**
+     * Reloads all configuration from the config file in the background.
+     * On failure the previous configuration stays active.
+     *
+     * @return completes on the main thread once the new configuration is published
+     */
+    public CompletableFuture<Void> reload() {
+        return onMainThread(CompletableFuture.runAsync(() -> load(configLoader.readFile()), worker));
+    }
+
+    /**
+     * Like {@link #reload()}, but skips the parse when config.yml still holds the text behind the
+     * current snapshot, e.g. after one of our own {@link #edit} writes
+     *
+     * @return completes on the main thread with whether a new configuration was published
+     */
+    public CompletableFuture<Boolean> reloadIfChanged() {
+        return onMainThread(CompletableFuture.supplyAsync(() -> {
+            final String content = configLoader.readFile();
+            if (content.equals(loadedContent)) {
+                return false;
+            }
+            load(content);
+            return true;
+        }, worker));
+    }
+
+    /**
+     * Applies {@code mutation} to the current config.yml in the background. If it changed the
+     * document, the result is validated, written atomically and published; an invalid edit is
+     * never written.
+     *
+     * @return completes on the main thread with the mutation's result
+     */
+    public <R> CompletableFuture<R> edit(final Function<FileConfiguration, R> mutation) {
+        return onMainThread(CompletableFuture.supplyAsync(() -> {
+            final YamlConfiguration document = configLoader.readDocument();
+            final String before = document.saveToString();
+            final R result = mutation.apply(document);
+            final String after = document.saveToString();
+            if (!after.equals(before)) {
+                final ConfigLoader.ConfigData parsed = configLoader.parse(document);
+                try {
+                    AtomicFiles.writeString(configLoader.file(), after);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                loadedContent = after;
+                publish(parsed);
+            }
+            return result;
+        }, worker));
+    }
+
+    /**
+     * Registers a callback run after every successful reload, e.g. to drop caches derived from config.
+     * Callbacks run on the main thread after the swap, before the reload's future completes, so they
+     * never race main-thread readers that cache what they built from the previous snapshot.
+     */
+    public void onReload(final Runnable listener) {
+        reloadListeners.add(listener);
     }
 
     /**
-     * Reloads all configuration from the config file
+     * @return Location of config.yml on disk
      */
-    public void reload() {
-        this.configData = configLoader.loadConfig();
+    public Path file() {
+        return configLoader.file();
+    }
+
+    /**
+     * Lets queued reloads and edits finish
+     */
+    public void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread
+                    .currentThread()
+                    .interrupt();
+        }
+    }
+
+    private void load(final String content) {
+        final ConfigLoader.ConfigData parsed = configLoader.parse(configLoader.readDocument(content));
+        loadedContent = content;
+        publish(parsed);
+    }
+
+    private void publish(final ConfigLoader.ConfigData data) {
+        this.configData = data;
+        if (!plugin.isEnabled()) {
+            notifyListeners();
+            return;
+        }
+        mainThread.execute(this::notifyListeners);
+    }
+
+    private void notifyListeners() {
+        for (final Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    private <T> CompletableFuture<T> onMainThread(final CompletableFuture<T> future) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            final Runnable complete = () -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            };
+            if (!plugin.isEnabled()) {
+                complete.run();
+                return;
+            }
+            mainThread.execute(complete);
+        });
+        return result;
+    }
+
+    /**
+     * @return The complete current configuration, for reads that must see one consistent version
+     */
+    public ConfigLoader.ConfigData snapshot() {
+        return configData;
     }
 
     /**
@@ -64,4 +232,18 @@ public final class ConfigManager {
         return configData.messagesConfig();
     }
 
+    /**
+     * @return Whether config.yml is watched for external edits
+     */
+    public HotReloadSpec hotReload() {
+        return configData.hotReload();
+    }
+
+    /**
+     * @return Where the optional Prometheus exporter listens
+     */
+    public PrometheusSpec prometheus() {
+        return configData.prometheus();
+    }
+
 }
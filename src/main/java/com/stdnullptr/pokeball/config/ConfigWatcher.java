@@ -0,0 +1,137 @@
+package com.stdnullptr.pokeball.config;
+
+import com.stdnullptr.pokeball.config.models.HotReloadSpec;
+import org.bukkit.plugin.Plugin;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config.yml for edits made outside the game and reloads it once writes have settled.
+ * The reload goes through {@link ConfigManager#reloadIfChanged()}, so it is parsed off-thread, an
+ * invalid file is logged and ignored, and our own edits are not reloaded a second time.
+ * Follows the {@code hot-reload} section, starting and stopping itself on every reload.
+ */
+public final class ConfigWatcher {
+
+    private final ConfigManager cfg;
+
+    private final Logger logger;
+
+    private final Path folder;
+
+    private final String fileName;
+
+    private WatchService watchService;
+
+    private Thread thread;
+
+    private long debounceMillis;
+
+    public ConfigWatcher(final Plugin plugin, final ConfigManager cfg) {
+        final Path file = cfg.file();
+        this.cfg = cfg;
+        this.logger = plugin.getSLF4JLogger();
+        this.folder = file.getParent();
+        this.fileName = file
+                .getFileName()
+                .toString();
+        cfg.onReload(this::sync);
+    }
+
+    /**
+     * Starts or stops watching to match the current {@code hot-reload} settings
+     */
+    public synchronized void sync() {
+        final HotReloadSpec spec = cfg.hotReload();
+        debounceMillis = spec.debounceMillis();
+        if (spec.enabled() && thread == null) {
+            start();
+        } else if (!spec.enabled() && thread != null) {
+            stop();
+        }
+    }
+
+    /**
+     * Stops watching; safe to call when not running
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (final IOException e) {
+            logger.warn("Failed to close config watcher", e);
+        }
+        thread = null;
+        watchService = null;
+    }
+
+    private void start() {
+        try {
+            final WatchService service = FileSystems
+                    .getDefault()
+                    .newWatchService();
+            // Atomic replacements show up as CREATE, in-place saves as MODIFY
+            folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            thread = new Thread(() -> run(service), "Pokeball-ConfigWatcher");
+            thread.setDaemon(true);
+            thread.start();
+            logger.info("Watching {} for changes", fileName);
+        } catch (final IOException e) {
+            logger.warn("Could not watch {}; use /pokeball reload instead", fileName, e);
+        }
+    }
+
+    private void run(final WatchService service) {
+        try {
+            while (true) {
+                if (!touchesConfig(service.take())) {
+                    continue;
+                }
+                // Debounce: wait until no write has arrived for a full window
+                WatchKey next;
+                while ((next = service.poll(debounceMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    touchesConfig(next);
+                }
+                cfg
+                        .reloadIfChanged()
+                        .whenComplete((changed, error) -> {
+                            if (error != null) {
+                                logger.warn("{} changed but is invalid; keeping the previous configuration", fileName);
+                            } else if (changed) {
+                                logger.info("Reloaded {} after an external change", fileName);
+                            }
+                        });
+            }
+        } catch (final ClosedWatchServiceException | InterruptedException ignored) {
+            // Stopped
+        }
+    }
+
+    private boolean touchesConfig(final WatchKey key) {
+        boolean touched = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || fileName.equals(String.valueOf(event.context()))) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private synchronized long debounceMillis() {
+        return debounceMillis;
+    }
+}
@@ -0,0 +1,93 @@
+package com.stdnullptr.pokeball.config.models;
+
+import org.bukkit.Color;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.slf4j.Logger;
+
+/**
+ * An {@link EffectSpec} compiled at load time: particle and sound names are resolved once and the
+ * FANCY ring offsets are precomputed, so playing an effect does no parsing or trigonometry.
+ * A null particle or sound means that part of the effect is off.
+ *
+ * @param ringX X offsets of the FANCY dust ring points (shared, never mutate)
+ * @param ringZ Z offsets of the FANCY dust ring points (shared, never mutate)
+ */
+public record EffectPlan(
+        boolean fancy,
+        Particle particle,
+        int particleCount,
+        double[] ringX,
+        double[] ringZ,
+        Particle.DustOptions ringDust,
+        int burstCount,
+        Sound sound,
+        float volume,
+        float pitch
+) {
+
+    private static final String FANCY = "FANCY";
+
+    private static final double RING_RADIUS = 0.7;
+
+    private static final Particle.DustOptions FANCY_DUST = new Particle.DustOptions(Color.fromRGB(220, 40, 40), 1.3f);
+
+    /**
+     * Resolves names in {@code spec}; unknown or unusable names are reported once here and disable that part
+     */
+    public static EffectPlan compile(final EffectSpec spec, final String path, final Logger logger) {
+        final boolean fancy = spec.particles() && FANCY.equalsIgnoreCase(spec.particle());
+        final Particle particle = spec.particles() && !fancy ? resolveParticle(spec.particle(), path, logger) : null;
+
+        double[] ringX = new double[0];
+        double[] ringZ = new double[0];
+        if (fancy) {
+            final int points = Math.max(12, spec.particleCount());
+            ringX = new double[points];
+            ringZ = new double[points];
+            for (int i = 0; i < points; i++) {
+                final double angle = (2 * Math.PI * i) / points;
+                ringX[i] = Math.cos(angle) * RING_RADIUS;
+                ringZ[i] = Math.sin(angle) * RING_RADIUS;
+            }
+        }
+        return new EffectPlan(
+                fancy,
+                particle,
+                Math.max(1, spec.particleCount()),
+                ringX,
+                ringZ,
+                FANCY_DUST,
+                Math.max(10, spec.particleCount() / 2),
+                resolveSound(spec.sound(), path, logger),
+                spec.volume(),
+                spec.pitch()
+        );
+    }
+
+    private static Particle resolveParticle(final String name, final String path, final Logger logger) {
+        try {
+            final Particle particle = Particle.valueOf(name.toUpperCase());
+            // Particles that need extra data (dust colors, block states) cannot be configured by name alone
+            if (particle.getDataType() != Void.class) {
+                logger.warn("Particle {} at {}.particle needs extra data and cannot be used; particles disabled", name, path);
+                return null;
+            }
+            return particle;
+        } catch (final IllegalArgumentException e) {
+            logger.warn("Invalid particle in config at {}.particle: {}", path, name);
+            return null;
+        }
+    }
+
+    private static Sound resolveSound(final String name, final String path, final Logger logger) {
+        final NamespacedKey key = NamespacedKey.fromString(name.toLowerCase());
+        final Sound sound = key != null ? Registry.SOUNDS.get(key) : null;
+        if (sound == null) {
+            logger.warn("Invalid sound in config at {}.sound: {}", path, name);
+        }
+        return sound;
+    }
+}
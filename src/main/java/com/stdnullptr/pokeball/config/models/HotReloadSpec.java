@@ -0,0 +1,16 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Whether config.yml is watched for external edits, and how long writes must settle before a reload
+ */
+public record HotReloadSpec(
+        boolean enabled,
+        long debounceMillis
+) {
+
+    public HotReloadSpec {
+        if (debounceMillis < 0L) {
+            throw new IllegalArgumentException("Hot reload debounce cannot be negative: " + debounceMillis);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Player-facing messages configurable under {@code messages.}, with their defaults.
+ * Every message is sent behind the configured prefix.
+ */
+public enum MessageKey {
+    CAPTURE_SUCCESS("capture-success", "<green>Captured a <yellow><type></yellow>!"),
+    CAPTURE_FAIL_BLOCKED("capture-fail-blocked", "<red>You cannot capture that mob."),
+    CAPTURE_FAIL_PLAYER("capture-fail-player", "<yellow>Really?</yellow>"),
+    CAPTURE_FAIL_WORLD("capture-fail-world", "<red>Capturing is not allowed in this world."),
+    CAPTURE_FAIL_FULL("capture-fail-full", "<red>Capture refused: storage is full.</red>"),
+    RELEASE_SUCCESS("release-success", "<green>Released a <yellow><type></yellow>."),
+    RELEASE_FAIL_WORLD("release-fail-world", "<red>Releasing is not allowed in this world."),
+    RELEASE_FAIL_MISSING("release-fail-missing", "<red>Release failed (stored mob not found).</red>"),
+    RELEASE_FAIL_TIMEOUT("release-fail-timeout", "<red>Release timed out; your Pokeball was returned.</red>"),
+    RELEASE_FAIL("release-fail", "<red>Release failed; your Pokeball was returned.</red>"),
+    GIVEN("given", "<green>Gave <yellow><count></yellow> Pokeball(s) to <yellow><player></yellow>."),
+    RELOADED("reloaded", "<green>Configuration reloaded.");
+
+    private final String path;
+
+    private final String defaultValue;
+
+    MessageKey(final String path, final String defaultValue) {
+        this.path = path;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * @return Config path relative to {@code messages.}
+     */
+    public String path() {
+        return path;
+    }
+
+    public String defaultValue() {
+        return defaultValue;
+    }
+}
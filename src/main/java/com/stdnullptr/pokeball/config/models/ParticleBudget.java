@@ -0,0 +1,23 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Limits applied to queued effect particles each tick; 0 disables a limit
+ */
+public record ParticleBudget(
+        int maxPerTick,
+        int maxPerChunk,
+        double viewDistance
+) {
+
+    public ParticleBudget {
+        if (maxPerTick < 0) {
+            throw new IllegalArgumentException("Particle budget per tick cannot be negative: " + maxPerTick);
+        }
+        if (maxPerChunk < 0) {
+            throw new IllegalArgumentException("Particle budget per chunk cannot be negative: " + maxPerChunk);
+        }
+        if (viewDistance <= 0.0) {
+            throw new IllegalArgumentException("Particle view distance must be positive: " + viewDistance);
+        }
+    }
+}
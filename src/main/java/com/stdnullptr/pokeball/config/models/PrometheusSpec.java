@@ -0,0 +1,20 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Where the optional Prometheus exporter listens
+ */
+public record PrometheusSpec(
+        boolean enabled,
+        String host,
+        int port
+) {
+
+    public PrometheusSpec {
+        if (host == null || host.isBlank()) {
+            throw new IllegalArgumentException("Prometheus host cannot be null or blank");
+        }
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("Prometheus port must be between 1 and 65535: " + port);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * A single stash point; parked entities are spread over several of these to keep chunks small
+ */
+public record StashShard(
+        double x,
+        double y,
+        double z
+) {
+
+    public StashShard {
+        if (y < -64 || y > 320) {
+            throw new IllegalArgumentException("Stash Y coordinate must be between -64 and 320: " + y);
+        }
+    }
+
+    public int chunkX() {
+        return (int) Math.floor(x) >> 4;
+    }
+
+    public int chunkZ() {
+        return (int) Math.floor(z) >> 4;
+    }
+}
@@ -0,0 +1,22 @@
+package com.stdnullptr.pokeball.config.models;
+
+import java.util.List;
+
+/**
+ * Where entities captured in a given source world are parked: a stash world and its shards
+ */
+public record StashTarget(
+        String world,
+        List<StashShard> shards
+) {
+
+    public StashTarget {
+        if (world == null || world.isBlank()) {
+            throw new IllegalArgumentException("Stash target world cannot be null or blank");
+        }
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Stash target must have at least one shard: " + world);
+        }
+        shards = List.copyOf(shards);
+    }
+}
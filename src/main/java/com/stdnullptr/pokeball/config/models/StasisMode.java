@@ -0,0 +1,16 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Enumeration of how captured entities are held while in stasis
+ */
+public enum StasisMode {
+    /**
+     * Keep the real entity alive, frozen and hidden at the stash location
+     */
+    LIVE,
+
+    /**
+     * Serialize the entity into stasis storage and remove it from the world
+     */
+    VIRTUAL
+}
@@ -0,0 +1,16 @@
+package com.stdnullptr.pokeball.config.models;
+
+/**
+ * Enumeration of persistence backends for stasis entries
+ */
+public enum StorageBackend {
+    /**
+     * Human-readable stasis.yml, fully rewritten on each background flush
+     */
+    YAML,
+
+    /**
+     * Append-only binary journal with background compaction
+     */
+    JOURNAL
+}
@@ -4,10 +4,10 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.EntityType;
 import org.slf4j.Logger;
 
-import java.util.HashSet;
-import java.util.Objects;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Configuration section for capture rules and special permissions
@@ -24,6 +24,8 @@ public final class CaptureConfig {
 
     private final Set<EntityType> allowedTypes;
 
+    private final List<String> allowedTypeNames;
+
     public CaptureConfig(final FileConfiguration config, final Logger logger) {
         this.consumeOnRelease = config.getBoolean("capture.consume-on-release", false);
         this.specialCapturePermission = config.getString("special-capture.permission", "pokeball.capture.any");
@@ -33,13 +35,20 @@ public final class CaptureConfig {
                 "<gold>How did you get that one?</gold>"
         );
 
-        // Parse entity types with error handling
-        this.allowedTypes = config
-                .getStringList("capture.allowed-entity-types")
+        // Parse entity types with error handling; frozen once so accessors never copy
+        final Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        for (final String name : config.getStringList("capture.allowed-entity-types")) {
+            final EntityType type = toEntityType(name, logger);
+            if (type != null) {
+                types.add(type);
+            }
+        }
+        this.allowedTypes = Collections.unmodifiableSet(types);
+        this.allowedTypeNames = types
                 .stream()
-                .map(name -> toEntityType(name, logger))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(HashSet::new));
+                .map(EntityType::name)
+                .sorted()
+                .toList();
 
         // Validation
         if (specialCapturePermission.isBlank()) {
@@ -79,6 +88,17 @@ public final class CaptureConfig {
     }
 
     public Set<EntityType> allowedTypes() {
-        return Set.copyOf(allowedTypes);
-    } // Return immutable copy
+        return allowedTypes;
+    } // Unmodifiable view, built once at load
+
+    public boolean isAllowed(final EntityType type) {
+        return allowedTypes.contains(type);
+    }
+
+    /**
+     * @return Names of the allowed types, sorted; built once at load
+     */
+    public List<String> allowedTypeNames() {
+        return allowedTypeNames;
+    }
 }
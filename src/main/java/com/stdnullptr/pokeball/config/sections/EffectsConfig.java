@@ -1,9 +1,12 @@
 package com.stdnullptr.pokeball.config.sections;
 
+import com.stdnullptr.pokeball.config.models.EffectPlan;
 import com.stdnullptr.pokeball.config.models.EffectSpec;
 import com.stdnullptr.pokeball.config.models.FlightSpec;
+import com.stdnullptr.pokeball.config.models.ParticleBudget;
 import com.stdnullptr.pokeball.config.models.RefundMode;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.slf4j.Logger;
 
 /**
  * Configuration section for visual and audio effects
@@ -14,8 +17,14 @@ public final class EffectsConfig {
 
     private final EffectSpec releaseEffect;
 
+    private final EffectPlan capturePlan;
+
+    private final EffectPlan releasePlan;
+
     private final FlightSpec flightSpec;
 
+    private final ParticleBudget particleBudget;
+
     private final double releaseOffsetNormal;
 
     private final double releaseOffsetUp;
@@ -24,10 +33,17 @@ public final class EffectsConfig {
 
     private final RefundMode refundMode;
 
-    public EffectsConfig(final FileConfiguration config) {
+    public EffectsConfig(final FileConfiguration config, final Logger logger) {
         this.captureEffect = readEffect(config, "effects.capture");
         this.releaseEffect = readEffect(config, "effects.release");
+        this.capturePlan = EffectPlan.compile(captureEffect, "effects.capture", logger);
+        this.releasePlan = EffectPlan.compile(releaseEffect, "effects.release", logger);
         this.flightSpec = readFlight(config);
+        this.particleBudget = new ParticleBudget(
+                config.getInt("effects.budget.max-per-tick", 1024),
+                config.getInt("effects.budget.max-per-chunk", 256),
+                config.getDouble("effects.budget.view-distance", 48.0)
+        );
         this.releaseOffsetNormal = config.getDouble("release.offset-normal", 0.31);
         this.releaseOffsetUp = config.getDouble("release.offset-up", 0.05);
         this.releaseProbeSteps = Math.max(1, config.getInt("release.probe-max-steps", 3));
@@ -84,10 +100,28 @@ public final class EffectsConfig {
         return releaseEffect;
     }
 
+    /**
+     * @return Capture effect with particle and sound names already resolved
+     */
+    public EffectPlan capturePlan() {
+        return capturePlan;
+    }
+
+    /**
+     * @return Release effect with particle and sound names already resolved
+     */
+    public EffectPlan releasePlan() {
+        return releasePlan;
+    }
+
     public FlightSpec flight() {
         return flightSpec;
     }
 
+    public ParticleBudget particleBudget() {
+        return particleBudget;
+    }
+
     public double releaseOffsetNormal() {
         return releaseOffsetNormal;
     }
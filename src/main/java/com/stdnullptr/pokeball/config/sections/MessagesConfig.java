@@ -1,70 +1,39 @@
 package com.stdnullptr.pokeball.config.sections;
 
-import lombok.Getter;
+import com.stdnullptr.pokeball.config.models.MessageKey;
+import com.stdnullptr.pokeball.message.MessageTemplate;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
- * Configuration section for all plugin messages
+ * Configuration section for all plugin messages, compiled into templates at load
  */
-@Getter
 public final class MessagesConfig {
 
     private final String prefix;
 
-    private final String captureSuccess;
-
-    private final String captureFailBlocked;
-
-    private final String captureFailPlayer;
-
-    private final String captureFailWorld;
+    private final MessageTemplate header;
 
-    private final String releaseSuccess;
-
-    private final String releaseFailWorld;
-
-    private final String given;
-
-    private final String reloaded;
+    private final Map<MessageKey, MessageTemplate> templates;
 
     public MessagesConfig(final FileConfiguration config) {
+        final MiniMessage mini = MiniMessage.miniMessage();
         this.prefix = config.getString("messages.prefix", "<gray>[<yellow>Pokeball</yellow>]");
-        this.captureSuccess = config.getString(
-                "messages.capture-success",
-                "<green>Captured a <yellow><type></yellow>!"
-        );
-        this.captureFailBlocked = config.getString(
-                "messages.capture-fail-blocked",
-                "<red>You cannot capture that mob."
-        );
-        this.captureFailPlayer = config.getString("messages.capture-fail-player", "<yellow>Really?</yellow>");
-        this.captureFailWorld = config.getString(
-                "messages.capture-fail-world",
-                "<red>Capturing is not allowed in this world."
-        );
-        this.releaseSuccess = config.getString(
-                "messages.release-success",
-                "<green>Released a <yellow><type></yellow>."
-        );
-        this.releaseFailWorld = config.getString(
-                "messages.release-fail-world",
-                "<red>Releasing is not allowed in this world."
-        );
-        this.given = config.getString(
-                "messages.given",
-                "<green>Gave <yellow><count></yellow> Pokeball(s) to <yellow><player></yellow>."
-        );
-        this.reloaded = config.getString("messages.reloaded", "<green>Configuration reloaded.");
-
-        validateMessage("messages.prefix", this.prefix);
-        validateMessage("messages.capture-success", this.captureSuccess);
-        validateMessage("messages.capture-fail-blocked", this.captureFailBlocked);
-        validateMessage("messages.capture-fail-player", this.captureFailPlayer);
-        validateMessage("messages.capture-fail-world", this.captureFailWorld);
-        validateMessage("messages.release-success", this.releaseSuccess);
-        validateMessage("messages.release-fail-world", this.releaseFailWorld);
-        validateMessage("messages.given", this.given);
-        validateMessage("messages.reloaded", this.reloaded);
+        validateMessage("messages.prefix", prefix);
+        this.header = MessageTemplate.compile(mini, prefix);
+
+        final Map<MessageKey, MessageTemplate> compiled = new EnumMap<>(MessageKey.class);
+        for (final MessageKey key : MessageKey.values()) {
+            final String path = "messages." + key.path();
+            final String message = config.getString(path, key.defaultValue());
+            validateMessage(path, message);
+            compiled.put(key, MessageTemplate.compile(mini, prefix + " " + message));
+        }
+        this.templates = Collections.unmodifiableMap(compiled);
     }
 
     private void validateMessage(final String key, final String message) {
@@ -72,4 +41,22 @@ public final class MessagesConfig {
             throw new IllegalArgumentException("Message for key '" + key + "' cannot be null or blank");
         }
     }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return The prefix on its own, compiled
+     */
+    public MessageTemplate header() {
+        return header;
+    }
+
+    /**
+     * @return The prefixed message, compiled
+     */
+    public MessageTemplate template(final MessageKey key) {
+        return templates.get(key);
+    }
 }
@@ -1,9 +1,20 @@
 package com.stdnullptr.pokeball.config.sections;
 
+import com.stdnullptr.pokeball.config.models.StashShard;
+import com.stdnullptr.pokeball.config.models.StashTarget;
+import com.stdnullptr.pokeball.config.models.StasisMode;
+import com.stdnullptr.pokeball.config.models.StorageBackend;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configuration section for stasis storage settings
@@ -22,13 +33,60 @@ public final class StasisConfig {
 
     private final Set<String> allowedWorlds;
 
+    // Allow-list verdict per world UUID, resolved from the world name on first sight
+    private final Map<UUID, Boolean> worldVerdicts = new ConcurrentHashMap<>();
+
+    private final long flushIntervalMillis;
+
+    private final int flushThreshold;
+
+    private final StorageBackend storageBackend;
+
+    private final double compactRatio;
+
+    private final long releaseTimeoutTicks;
+
+    private final StasisMode mode;
+
+    private final StashTarget globalTarget;
+
+    private final Map<String, StashTarget> worldTargets;
+
+    private final int maxPerShard;
+
+    private final long auditIntervalSeconds;
+
+    private final long auditBudgetMicros;
+
     public StasisConfig(final FileConfiguration config) {
         this.world = config.getString("stasis.world", "world");
         this.x = config.getDouble("stasis.x", 0.0);
         this.y = config.getDouble("stasis.y", 320.0);
         this.z = config.getDouble("stasis.z", 0.0);
         this.capTotal = config.getInt("stasis.cap.max-total", 500);
-        this.allowedWorlds = new HashSet<>(config.getStringList("compat.worlds"));
+        this.allowedWorlds = Set.copyOf(config.getStringList("compat.worlds"));
+        this.flushIntervalMillis = config.getLong("stasis.persistence.flush-interval-ms", 5000L);
+        this.flushThreshold = config.getInt("stasis.persistence.flush-threshold", 64);
+        this.storageBackend = parseBackend(config.getString("stasis.persistence.backend", "JOURNAL"));
+        this.compactRatio = config.getDouble("stasis.persistence.compact-ratio", 0.5);
+        this.releaseTimeoutTicks = config.getLong("stasis.release-timeout-ticks", 100L);
+        this.mode = parseMode(config.getString("stasis.mode", "LIVE"));
+        this.maxPerShard = config.getInt("stasis.shards.max-per-shard", 0);
+        this.auditIntervalSeconds = config.getLong("stasis.audit.interval-seconds", 600L);
+        this.auditBudgetMicros = config.getLong("stasis.audit.budget-micros", 500L);
+        final int grid = config.getInt("stasis.shards.grid", 1);
+        final int spacing = config.getInt("stasis.shards.spacing", 1);
+        if (grid < 1 || grid > 16) {
+            throw new IllegalArgumentException("Stasis shard grid must be between 1 and 16: " + grid);
+        }
+        if (spacing < 1) {
+            throw new IllegalArgumentException("Stasis shard spacing must be positive: " + spacing);
+        }
+        this.globalTarget = new StashTarget(
+                world,
+                buildShards(config.getMapList("stasis.shards.anchors"), x, y, z, grid, spacing)
+        );
+        this.worldTargets = readWorldTargets(config.getConfigurationSection("stasis.per-world"), grid, spacing);
 
         if (world.isBlank()) {
             throw new IllegalArgumentException("Stasis world cannot be null or blank");
@@ -39,6 +97,108 @@ public final class StasisConfig {
         if (y < -64 || y > 320) {
             throw new IllegalArgumentException("Stasis Y coordinate must be between -64 and 320: " + y);
         }
+        if (flushIntervalMillis < 50L) {
+            throw new IllegalArgumentException("Stasis flush interval must be at least 50ms: " + flushIntervalMillis);
+        }
+        if (flushThreshold <= 0) {
+            throw new IllegalArgumentException("Stasis flush threshold must be positive: " + flushThreshold);
+        }
+        if (releaseTimeoutTicks <= 0L) {
+            throw new IllegalArgumentException("Stasis release timeout must be positive: " + releaseTimeoutTicks);
+        }
+        if (maxPerShard < 0) {
+            throw new IllegalArgumentException("Stasis max per shard cannot be negative: " + maxPerShard);
+        }
+        if (auditIntervalSeconds < 0L) {
+            throw new IllegalArgumentException("Stasis audit interval cannot be negative: " + auditIntervalSeconds);
+        }
+        if (auditBudgetMicros <= 0L) {
+            throw new IllegalArgumentException("Stasis audit budget must be positive: " + auditBudgetMicros);
+        }
+        if (compactRatio <= 0.0 || compactRatio >= 1.0) {
+            throw new IllegalArgumentException("Stasis compact ratio must be between 0.0 and 1.0 (exclusive): " + compactRatio);
+        }
+    }
+
+    /**
+     * Reads per-source-world stash targets; each defaults to stashing inside the source world
+     * and to the global coordinates and shard layout
+     */
+    private Map<String, StashTarget> readWorldTargets(final ConfigurationSection section, final int grid, final int spacing) {
+        if (section == null) {
+            return Map.of();
+        }
+        final Map<String, StashTarget> result = new HashMap<>();
+        for (final String source : section.getKeys(false)) {
+            final ConfigurationSection target = section.getConfigurationSection(source);
+            if (target == null) {
+                throw new IllegalArgumentException("Stasis per-world entry must be a section: " + source);
+            }
+            final double tx = target.getDouble("x", x);
+            final double ty = target.getDouble("y", y);
+            final double tz = target.getDouble("z", z);
+            result.put(source, new StashTarget(
+                    target.getString("world", source),
+                    buildShards(target.getMapList("anchors"), tx, ty, tz, grid, spacing)
+            ));
+        }
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Builds the stash shards: explicit anchors if configured, otherwise a square grid of chunks
+     * centered on the stash point (grid 1 = the single stash point)
+     */
+    private static List<StashShard> buildShards(
+            final List<Map<?, ?>> anchors,
+            final double cx,
+            final double cy,
+            final double cz,
+            final int grid,
+            final int spacing
+    ) {
+        final List<StashShard> result = new ArrayList<>();
+        for (final Map<?, ?> anchor : anchors) {
+            result.add(new StashShard(
+                    number(anchor.get("x"), cx),
+                    number(anchor.get("y"), cy),
+                    number(anchor.get("z"), cz)
+            ));
+        }
+        if (!result.isEmpty()) {
+            return List.copyOf(result);
+        }
+        final int half = grid / 2;
+        for (int dx = 0; dx < grid; dx++) {
+            for (int dz = 0; dz < grid; dz++) {
+                result.add(new StashShard(
+                        cx + (dx - half) * spacing * 16.0,
+                        cy,
+                        cz + (dz - half) * spacing * 16.0
+                ));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static double number(final Object value, final double fallback) {
+        return value instanceof final Number n ? n.doubleValue() : fallback;
+    }
+
+    private StasisMode parseMode(final String mode) {
+        try {
+            return StasisMode.valueOf(mode.toUpperCase());
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("Unknown stasis mode: " + mode);
+        }
+    }
+
+    private StorageBackend parseBackend(final String backend) {
+        try {
+            return StorageBackend.valueOf(backend.toUpperCase());
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("Unknown stasis storage backend: " + backend);
+        }
     }
 
     public String world() {
@@ -62,7 +222,74 @@ public final class StasisConfig {
     }
 
     public Set<String> allowedWorlds() {
-        return Set.copyOf(allowedWorlds);
-    } // Return immutable copy
+        return allowedWorlds;
+    } // Immutable, built once at load
+
+    /**
+     * @return whether capture and release are allowed in {@code world}; an empty allow-list allows all
+     */
+    public boolean worldAllowed(final World world) {
+        if (allowedWorlds.isEmpty()) {
+            return true;
+        }
+        // Plain get and put rather than computeIfAbsent: a capturing lambda would allocate on every throw
+        final UUID id = world.getUID();
+        final Boolean known = worldVerdicts.get(id);
+        if (known != null) {
+            return known;
+        }
+        final boolean allowed = allowedWorlds.contains(world.getName());
+        worldVerdicts.put(id, allowed);
+        return allowed;
+    }
+
+    public long flushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public int flushThreshold() {
+        return flushThreshold;
+    }
+
+    public StorageBackend storageBackend() {
+        return storageBackend;
+    }
+
+    public double compactRatio() {
+        return compactRatio;
+    }
+
+    public long releaseTimeoutTicks() {
+        return releaseTimeoutTicks;
+    }
+
+    public StasisMode mode() {
+        return mode;
+    }
+
+    /**
+     * @return the stash target for entities captured in {@code sourceWorld}, falling back to the global stash
+     */
+    public StashTarget stashTarget(final String sourceWorld) {
+        return worldTargets.getOrDefault(sourceWorld, globalTarget);
+    }
+
+    public int maxPerShard() {
+        return maxPerShard;
+    }
+
+    /**
+     * @return seconds between background stasis audits; 0 audits only once after startup
+     */
+    public long auditIntervalSeconds() {
+        return auditIntervalSeconds;
+    }
+
+    /**
+     * @return main-thread time the stasis audit may spend per tick, in nanoseconds
+     */
+    public long auditBudgetNanos() {
+        return auditBudgetMicros * 1_000L;
+    }
 
 }
@@ -0,0 +1,23 @@
+package com.stdnullptr.pokeball.item;
+
+import java.util.UUID;
+
+/**
+ * What an item stack is as a Pokeball: an empty ball, or a filled one linked to a stasis entry
+ *
+ * @param filled Whether the ball holds a captured entity
+ * @param ballId Stasis link of a filled ball; null for empty balls
+ */
+public record BallState(
+        boolean filled,
+        UUID ballId
+) {
+
+    public static final BallState EMPTY = new BallState(false, null);
+
+    public BallState {
+        if (filled && ballId == null) {
+            throw new IllegalArgumentException("Filled ball must have a ball id");
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.stdnullptr.pokeball.item;
 
 import com.stdnullptr.pokeball.Pokeball;
 import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.sections.ItemConfig;
 import com.stdnullptr.pokeball.util.Keys;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
@@ -17,116 +19,142 @@ import org.bukkit.persistence.PersistentDataType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Builds Pokeball items from prototypes: the empty ball and each filled type/annotation variant are
+ * rendered once per config load. Empty balls are identical and stack; a filled ball is a clone of
+ * its prototype plus the ball id minted on capture. Empty balls from older versions still carry a
+ * ball id and are recognized as Pokeballs by that id. Prototypes are built and invalidated on the
+ * main thread only, so a stale build can never outlive the reload that invalidates it.
+ */
 public final class PokeballItemFactory {
     private final ConfigManager cfg;
     private final MiniMessage mini;
 
     private final Keys keys;
 
+    private final Map<FilledVariant, ItemStack> filledPrototypes = new ConcurrentHashMap<>();
+
+    private volatile ItemStack emptyPrototype;
+
     public PokeballItemFactory(final Pokeball plugin, final ConfigManager cfg, final Keys keys) {
         this.cfg = cfg;
         this.mini = plugin.mini();
         this.keys = keys;
+        cfg.onReload(this::invalidate);
+    }
+
+    /**
+     * Drops all prototypes so the next ball is rendered from the current config
+     */
+    public void invalidate() {
+        emptyPrototype = null;
+        filledPrototypes.clear();
     }
 
     public ItemStack createEmptyBall() {
-        final ItemStack item = new ItemStack(Material.SNOWBALL, 1);
-        final ItemMeta meta = item.getItemMeta();
-        applyCommonMeta(
-                meta,
-                cfg
-                        .items()
-                        .name(),
-                cfg
-                        .items()
-                        .lore()
-        );
-        final PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        // Unique ID ensures non-stacking
-        pdc.set(
-                keys.getBallId(),
-                PersistentDataType.STRING,
-                UUID
-                        .randomUUID()
-                        .toString()
-        );
-        // Ensure empty state (no captured type)
-        pdc.remove(keys.getCapturedType());
-        pdc.set(keys.getCapturedDataVersion(), PersistentDataType.INTEGER, 1);
-        item.setItemMeta(meta);
-        return item;
+        return emptyPrototype().clone();
     }
 
-    public boolean isNotPokeball(final ItemStack stack) {
-        if (stack == null) {
-            return true;
-        }
-        final ItemMeta meta = stack.getItemMeta();
-        if (meta == null) {
-            return true;
+    /**
+     * @return {@code amount} empty balls packed into as few stacks as the item allows
+     */
+    public List<ItemStack> createEmptyBalls(final int amount) {
+        final ItemStack prototype = emptyPrototype();
+        final int maxStack = prototype.getMaxStackSize();
+        final List<ItemStack> stacks = new ArrayList<>();
+        for (int left = amount; left > 0; left -= maxStack) {
+            final ItemStack stack = prototype.clone();
+            stack.setAmount(Math.min(left, maxStack));
+            stacks.add(stack);
         }
-        return !meta
-                .getPersistentDataContainer()
-                .has(keys.getBallId(), PersistentDataType.STRING);
+        return stacks;
     }
 
-    public boolean isFilled(final ItemStack stack) {
-        if (isNotPokeball(stack)) {
-            return false;
+    /**
+     * Classifies a stack in one pass without cloning its meta: non-snowballs are rejected by
+     * material, the rest through the read-only PDC view
+     *
+     * @return the ball state, or null if the stack is not a (usable) Pokeball
+     */
+    public BallState classify(final ItemStack stack) {
+        if (stack == null || stack.getType() != Material.SNOWBALL) {
+            return null;
+        }
+        final PersistentDataContainerView pdc = stack.getPersistentDataContainer();
+        final String id = pdc.get(keys.getBallId(), PersistentDataType.STRING);
+        if (id == null) {
+            return pdc.has(keys.getPokeball(), PersistentDataType.BYTE) ? BallState.EMPTY : null;
+        }
+        // Legacy empty balls carry a ball id but no captured type
+        if (!pdc.has(keys.getCapturedType(), PersistentDataType.STRING)) {
+            return BallState.EMPTY;
+        }
+        try {
+            return new BallState(true, UUID.fromString(id));
+        } catch (final IllegalArgumentException e) {
+            return null;
         }
-        final ItemMeta meta = stack.getItemMeta();
-        return meta
-                .getPersistentDataContainer()
-                .has(keys.getCapturedType(), PersistentDataType.STRING);
     }
 
-    public void markCaptured(
-            final ItemStack stack,
-            final EntityType type,
-            final boolean bypass,
-            final String bypassAnnotation
-    ) {
-        final ItemMeta meta = stack.getItemMeta();
-        final PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        pdc.set(keys.getCapturedType(), PersistentDataType.STRING, type.name());
-        // Update lore to show captured type
-        applyCommonMeta(
-                meta,
-                cfg
-                        .items()
-                        .name(),
-                cfg
-                        .items()
-                        .lore(),
-                type,
-                (bypass && bypassAnnotation != null) ? bypassAnnotation : null
-        );
-        stack.setItemMeta(meta);
+    public boolean isFilled(final ItemStack stack) {
+        final BallState state = classify(stack);
+        return state != null && state.filled();
     }
 
     /**
-     * Creates a filled Pokeball item bound to an existing ball id and captured type.
-     * Used to refund the original filled ball on release failure without changing linkage.
+     * Creates a filled Pokeball item bound to a ball id and captured type.
+     * Used on capture with a freshly minted id, and to refund the original filled ball on release
+     * failure without changing linkage.
      */
     public ItemStack createFilledBall(final UUID ballId, final EntityType type, final boolean bypass, final String bypassAnnotation) {
-        final ItemStack item = new ItemStack(Material.SNOWBALL, 1);
-        final ItemMeta meta = item.getItemMeta();
-        applyCommonMeta(meta,
-                        cfg.items().name(),
-                        cfg.items().lore(),
-                        type,
-                        (bypass && bypassAnnotation != null) ? bypassAnnotation : null
-        );
-        final PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        pdc.set(keys.getBallId(), PersistentDataType.STRING, ballId.toString());
-        pdc.set(keys.getCapturedType(), PersistentDataType.STRING, type.name());
-        pdc.set(keys.getCapturedDataVersion(), PersistentDataType.INTEGER, 1);
-        item.setItemMeta(meta);
+        return withBallId(filledPrototype(type, bypass ? bypassAnnotation : null), ballId);
+    }
+
+    private ItemStack withBallId(final ItemStack prototype, final UUID ballId) {
+        final ItemStack item = prototype.clone();
+        // Unique ID links the ball to its stasis entry (and keeps filled balls from stacking)
+        item.editMeta(meta -> meta
+                .getPersistentDataContainer()
+                .set(keys.getBallId(), PersistentDataType.STRING, ballId.toString()));
         return item;
     }
 
+    private ItemStack emptyPrototype() {
+        ItemStack prototype = emptyPrototype;
+        if (prototype == null) {
+            prototype = new ItemStack(Material.SNOWBALL, 1);
+            final ItemMeta meta = prototype.getItemMeta();
+            // One snapshot per build, so name and lore always come from the same config version
+            final ItemConfig items = cfg.items();
+            applyCommonMeta(meta, items.name(), items.lore());
+            final PersistentDataContainer pdc = meta.getPersistentDataContainer();
+            pdc.set(keys.getPokeball(), PersistentDataType.BYTE, (byte) 1);
+            pdc.set(keys.getCapturedDataVersion(), PersistentDataType.INTEGER, 1);
+            prototype.setItemMeta(meta);
+            emptyPrototype = prototype;
+        }
+        return prototype;
+    }
+
+    private ItemStack filledPrototype(final EntityType type, final String annotation) {
+        return filledPrototypes.computeIfAbsent(new FilledVariant(type, annotation), variant -> {
+            final ItemStack prototype = new ItemStack(Material.SNOWBALL, 1);
+            final ItemMeta meta = prototype.getItemMeta();
+            final ItemConfig items = cfg.items();
+            applyCommonMeta(meta, items.name(), items.lore(), variant.type(), variant.annotation());
+            final PersistentDataContainer pdc = meta.getPersistentDataContainer();
+            pdc.set(keys.getPokeball(), PersistentDataType.BYTE, (byte) 1);
+            pdc.set(keys.getCapturedType(), PersistentDataType.STRING, variant.type().name());
+            pdc.set(keys.getCapturedDataVersion(), PersistentDataType.INTEGER, 1);
+            prototype.setItemMeta(meta);
+            return prototype;
+        });
+    }
+
     private void applyCommonMeta(final ItemMeta meta, final String name, final List<String> lore) {
         applyCommonMeta(meta, name, lore, null, null);
     }
@@ -173,4 +201,7 @@ public final class PokeballItemFactory {
         }
         meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
     }
+
+    private record FilledVariant(EntityType type, String annotation) {
+    }
 }
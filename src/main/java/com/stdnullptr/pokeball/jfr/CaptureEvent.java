@@ -0,0 +1,24 @@
+package com.stdnullptr.pokeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One capture attempt, from the projectile hitting an entity to the filled ball being handed out
+ */
+@Name("com.stdnullptr.pokeball.Capture")
+@Label("Pokeball Capture")
+@Category({"Pokeball", "Capture"})
+@Description("Capture rules, parking and filled ball hand-out for one Pokeball hit")
+public final class CaptureEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Captured")
+    @Description("False when the capture was refused by rules, permissions or a full stash")
+    public boolean captured;
+}
@@ -0,0 +1,27 @@
+package com.stdnullptr.pokeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Queueing a capture or release effect
+ */
+@Name("com.stdnullptr.pokeball.Effect")
+@Label("Pokeball Effect")
+@Category({"Pokeball", "Effects"})
+@Description("Particles and sound queued for a capture or release effect")
+public final class EffectEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Particles")
+    @Description("Particles requested before the per-tick budget is applied")
+    public int particles;
+
+    @Label("Sound")
+    public boolean sound;
+}
@@ -0,0 +1,29 @@
+package com.stdnullptr.pokeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One background write of pending stasis changes
+ */
+@Name("com.stdnullptr.pokeball.Flush")
+@Label("Stasis Flush")
+@Category({"Pokeball", "Persistence"})
+@Description("Background write of pending stasis changes, including journal compaction")
+public final class FlushEvent extends Event {
+
+    @Label("Backend")
+    public String backend;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Label("Entries")
+    @Description("Changes pending when the flush started")
+    public int entries;
+}
@@ -0,0 +1,31 @@
+package com.stdnullptr.pokeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Moving a captured entity into stasis
+ */
+@Name("com.stdnullptr.pokeball.Park")
+@Label("Stasis Park")
+@Category({"Pokeball", "Stasis"})
+@Description("Freezing and stashing, or serializing, a captured entity")
+public final class ParkEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Virtual")
+    @Description("The entity was serialized into storage instead of parked alive")
+    public boolean virtual;
+
+    @Label("Cross World")
+    @Description("The entity was teleported to a stash in another world")
+    public boolean crossWorld;
+
+    @Label("Parked")
+    public boolean parked;
+}
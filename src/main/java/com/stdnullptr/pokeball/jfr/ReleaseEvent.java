@@ -0,0 +1,34 @@
+package com.stdnullptr.pokeball.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One release, from the request until the stash chunk was handled; includes the async chunk load
+ */
+@Name("com.stdnullptr.pokeball.Release")
+@Label("Stasis Release")
+@Category({"Pokeball", "Stasis"})
+@Description("Releasing a stored entity, including the wait for its stash chunk")
+public final class ReleaseEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Virtual")
+    public boolean virtual;
+
+    @Label("Chunk Loaded")
+    @Description("The stash chunk was already loaded when the release started")
+    public boolean chunkLoaded;
+
+    @Label("Cross World")
+    @Description("The entity was teleported out of a stash in another world")
+    public boolean crossWorld;
+}
@@ -1,13 +1,26 @@
 package com.stdnullptr.pokeball.listener;
 
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.stdnullptr.pokeball.Pokeball;
 import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.MessageKey;
 import com.stdnullptr.pokeball.config.models.RefundMode;
+import com.stdnullptr.pokeball.item.BallState;
 import com.stdnullptr.pokeball.item.PokeballItemFactory;
+import com.stdnullptr.pokeball.jfr.CaptureEvent;
+import com.stdnullptr.pokeball.message.MessageArgs;
+import com.stdnullptr.pokeball.message.MessageService;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import com.stdnullptr.pokeball.metrics.Timer;
+import com.stdnullptr.pokeball.service.FlightTrailTicker;
+import com.stdnullptr.pokeball.service.ParticleDispatcher;
+import com.stdnullptr.pokeball.service.ProjectileRegistry;
+import com.stdnullptr.pokeball.service.ReleaseResult;
 import com.stdnullptr.pokeball.service.StasisService;
-import com.stdnullptr.pokeball.util.Keys;
-import net.kyori.adventure.text.Component;
-import org.bukkit.Color;
+import com.stdnullptr.pokeball.trace.WorkloadRecorder;
+import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.block.Block;
@@ -16,17 +29,15 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
+import org.bukkit.entity.Snowball;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
-import java.util.Objects;
 import java.util.UUID;
 
 public final class ProjectileListeners implements Listener {
@@ -36,25 +47,47 @@ public final class ProjectileListeners implements Listener {
     private final ConfigManager cfg;
     private final StasisService stasis;
 
-    private final Keys keys;
+    private final FlightTrailTicker trails;
+
+    private final ParticleDispatcher particles;
+
+    private final ProjectileRegistry projectiles;
+
+    private final MessageService messages;
+
+    private final Metrics metrics;
+
+    private final WorkloadRecorder recorder;
 
     public ProjectileListeners(
             final Pokeball plugin,
             final PokeballItemFactory items,
             final ConfigManager cfg,
             final StasisService stasis,
-            final Keys keys
+            final FlightTrailTicker trails,
+            final ParticleDispatcher particles,
+            final ProjectileRegistry projectiles,
+            final MessageService messages,
+            final Metrics metrics,
+            final WorkloadRecorder recorder
     ) {
         this.plugin = plugin;
         this.items = items;
         this.cfg = cfg;
         this.stasis = stasis;
-        this.keys = keys;
+        this.trails = trails;
+        this.particles = particles;
+        this.projectiles = projectiles;
+        this.messages = messages;
+        this.metrics = metrics;
+        this.recorder = recorder;
     }
 
     @EventHandler
     public void onLaunch(final ProjectileLaunchEvent event) {
-        if (!(event
+        final long start = System.nanoTime();
+        // Pokeballs are snowballs; every other projectile is rejected before touching the hand item
+        if (!(event.getEntity() instanceof Snowball) || !(event
                 .getEntity()
                 .getShooter() instanceof final Player player)) {
             return;
@@ -62,111 +95,70 @@ public final class ProjectileListeners implements Listener {
         final ItemStack hand = player
                 .getInventory()
                 .getItemInMainHand();
-        if (items.isNotPokeball(hand)) {
+        final BallState ball = items.classify(hand);
+        if (ball == null) {
             return;
         }
         // If filled, this is a release throw; else capture throw
-        if (items.isFilled(hand)) {
-            final String idStr = hand
-                    .getItemMeta()
-                    .getPersistentDataContainer()
-                    .get(keys.getBallId(), PersistentDataType.STRING);
-            if (idStr != null) {
-                event
-                        .getEntity()
-                        .getPersistentDataContainer()
-                        .set(keys.getProjectileReleaseId(), PersistentDataType.STRING, idStr);
-            }
-        } else {
-            // Tag projectile so we know it's a Pokeball capture throw
-            event
-                    .getEntity()
-                    .getPersistentDataContainer()
-                    .set(keys.getProjectileBall(), PersistentDataType.BYTE, (byte) 1);
-        }
+        projectiles.launch(event.getEntity(), ball);
+        recorder.launch(event.getEntity(), player, ball.filled());
         final var flightCfg = cfg
                 .effects()
                 .flight();
         if (flightCfg != null && flightCfg.glow()) {
             event.getEntity().setGlowing(true);
         }
-        // Flight particle trail (configurable)
-        final var proj = event.getEntity();
-        new BukkitRunnable() {
-            @Override public void run() {
-                if (!proj.isValid() || proj.isDead()) { cancel(); return; }
-                final var loc = proj.getLocation();
-                final var world = proj.getWorld();
-                final var flight = cfg
-                        .effects()
-                        .flight();
-                if (flight != null && flight.enabled()) {
-                    if (flight.dust()) {
-                        world.spawnParticle(
-                                Particle.DUST,
-                                loc,
-                                Math.max(0, flight.dustCount()),
-                                0.0,
-                                0.0,
-                                0.0,
-                                new Particle.DustOptions(Color.fromRGB(220, 40, 40), Math.max(0.1f, flight.dustSize()))
-                        );
-                    }
-                    if (flight.endRod()) {
-                        final Vector v = proj.getVelocity();
-                        if (v.lengthSquared() > 1.0E-4) {
-                            final Vector dir = v
-                                    .clone()
-                                    .normalize();
-                            final double step = flight.endRodStep() <= 0 ? 0.15 : flight.endRodStep();
-                            final int streak = Math.max(0, flight.endRodPoints());
-                            for (int i = 1; i <= streak; i++) {
-                                final Location p = loc
-                                        .clone()
-                                        .subtract(dir
-                                                .clone()
-                                                .multiply(step * i));
-                                world.spawnParticle(Particle.END_ROD, p, 1, 0.0, 0.0, 0.0, 0.0);
-                            }
-                        }
-                    }
-                }
+        // Flight particle trail (configurable), rendered by the shared ticker
+        if (flightCfg != null && flightCfg.enabled()) {
+            trails.track(event.getEntity());
+        }
+
+        // Vanilla takes one ball from the hand right after this event, except with infinite materials;
+        // consume it by hand only in creative (avoid creative dupes), or survival throws would cost two
+        if (player.getGameMode() == GameMode.CREATIVE) {
+            final int amt = hand.getAmount();
+            if (amt <= 1) {
+                player.getInventory().setItemInMainHand(null);
+            } else {
+                hand.setAmount(amt - 1);
             }
-        }.runTaskTimer(plugin, 0L, Math.max(1L, (flightCfg != null ? flightCfg.tickPeriod() : 1)));
-
-        // Consume the Pokeball from hand for all gamemodes (avoid creative dupes)
-        final int amt = hand.getAmount();
-        if (amt <= 1) {
-            player.getInventory().setItemInMainHand(null);
-        } else {
-            hand.setAmount(amt - 1);
         }
+        metrics.increment(Counter.LAUNCHES);
+        metrics.record(Timer.LAUNCH, start);
     }
 
     @EventHandler
     public void onHit(final ProjectileHitEvent event) {
+        final long start = System.nanoTime();
         final Projectile proj = event.getEntity();
-        final var pdc = proj.getPersistentDataContainer();
-        final String releaseId = pdc.get(keys.getProjectileReleaseId(), PersistentDataType.STRING);
-        final Byte isCapture = pdc.get(keys.getProjectileBall(), PersistentDataType.BYTE);
+        final BallState ball = projectiles.get(proj);
+        if (ball == null) return; // Not our projectile
+        recorder.hit(event, proj);
+        try {
+            handleHit(event, proj, ball);
+        } finally {
+            metrics.record(Timer.HIT, start);
+        }
+    }
 
-        if (releaseId == null && isCapture == null) return; // Not our projectile
+    private void handleHit(final ProjectileHitEvent event, final Projectile proj, final BallState ball) {
+        trails.untrack(proj);
 
         if (!(proj.getShooter() instanceof final Player player)) {
             proj.remove();
             return;
         }
         // Release case
-        if (releaseId != null) {
-            final UUID ballId = UUID.fromString(releaseId);
+        if (ball.filled()) {
+            final UUID ballId = ball.ballId();
             final var mobType = plugin
                     .stasis()
                     .peekType(ballId);
             final Location spawnAt = resolveImpactSpawn(event, proj, mobType);
-            if (!worldAllowed(spawnAt.getWorld().getName())) {
-                final String releaseWorldMsg = cfg.messages().getReleaseFailWorld();
-                player.sendMessage(msg(cfg.messages().getPrefix() + " " +
-                                               (releaseWorldMsg != null ? releaseWorldMsg : "<red>Releasing is not allowed in this world.</red>")));
+            if (!cfg
+                    .stasis()
+                    .worldAllowed(spawnAt.getWorld())) {
+                messages.send(player, MessageKey.RELEASE_FAIL_WORLD);
                 // Refund the filled ball linked to this stasis entry
                 if (mobType != null) {
                     giveOrDrop(player, items.createFilledBall(ballId, mobType, false, null), spawnAt);
@@ -177,38 +169,18 @@ public final class ProjectileListeners implements Listener {
                 proj.remove();
                 return;
             }
-            // Impact flash
-            try {
-                spawnAt
-                        .getWorld()
-                        .spawnParticle(Particle.CLOUD, spawnAt, 8, 0.2, 0.2, 0.2, 0.0);
-            } catch (final Exception ignored) {
-            }
-            final boolean ok = plugin
+            // Impact flash, under the same particle budget as the other effects
+            particles.spawn(spawnAt, Particle.CLOUD, 8, 0.2, 0.2, 0.2, 0.0, null);
+            plugin
                     .stasis()
-                    .release(ballId, spawnAt);
-            if (!ok) {
-                player.sendMessage(msg(cfg
-                                               .messages()
-                                               .getPrefix() + " <red>Release failed (stored mob not found).</red>"));
-            } else {
-                // Optionally inform type
-                final var type = plugin
-                        .stasis()
-                        .peekType(ballId);
-                if (type != null) {
-                    final String releaseMessage = cfg.messages().getReleaseSuccess();
-                    player.sendMessage(msg(cfg.messages().getPrefix() + " " +
-                                                   (releaseMessage != null ? releaseMessage : "<green>Released a <yellow><type></yellow>.")
-                                                           .replace("<type>", type.name())));
-                }
-                // Refund empty ball if not configured to consume on release
-                if (!cfg
-                        .capture()
-                        .consumeOnRelease()) {
-                    giveOrDrop(player, items.createEmptyBall(), spawnAt);
-                }
-            }
+                    .release(ballId, spawnAt)
+                    .thenAccept(result -> completeRelease(player, ballId, mobType, spawnAt, result))
+                    .exceptionally(error -> {
+                        plugin
+                                .getSLF4JLogger()
+                                .error("Failed to complete release of ball {}", ballId, error);
+                        return null;
+                    });
             proj.remove();
             return;
         }
@@ -216,28 +188,55 @@ public final class ProjectileListeners implements Listener {
         final Entity hit = event.getHitEntity();
         if (hit != null) {
             // Impact flash
-            try {
-                hit
-                        .getWorld()
-                        .spawnParticle(Particle.CLOUD, hit.getLocation(), 8, 0.2, 0.2, 0.2, 0.0);
-            } catch (final Exception ignored) {
-            }
+            particles.spawn(hit.getLocation(), Particle.CLOUD, 8, 0.2, 0.2, 0.2, 0.0, null);
             handleCapture(player, hit, hit.getLocation());
-            proj.remove();
+            // Not removed here: the damage event for this hit follows and must still see the projectile
+            // registered; the snowball discards itself right after, which unregisters it
             return;
         }
         // If hit block or missed: return empty ball to player (we consumed on launch)
         final var impact = proj.getLocation();
-        try {
-            impact
-                    .getWorld()
-                    .spawnParticle(Particle.CLOUD, impact, 6, 0.2, 0.2, 0.2, 0.0);
-        } catch (final Exception ignored) {
-        }
+        particles.spawn(impact, Particle.CLOUD, 6, 0.2, 0.2, 0.2, 0.0, null);
         giveOrDrop(player, items.createEmptyBall(), impact);
         proj.remove();
     }
 
+    /**
+     * Finishes a release once the stash chunk has been handled (runs on the main thread)
+     */
+    private void completeRelease(
+            final Player player,
+            final UUID ballId,
+            final EntityType mobType,
+            final Location spawnAt,
+            final ReleaseResult result
+    ) {
+        recorder.release(result);
+        switch (result) {
+            case RELEASED -> {
+                if (mobType != null) {
+                    messages.send(player, MessageKey.RELEASE_SUCCESS, MessageArgs.type(mobType.name()));
+                }
+                // Refund empty ball if not configured to consume on release
+                if (!cfg
+                        .capture()
+                        .consumeOnRelease()) {
+                    giveOrDrop(player, items.createEmptyBall(), spawnAt);
+                }
+            }
+            case NOT_FOUND -> messages.send(player, MessageKey.RELEASE_FAIL_MISSING);
+            case TIMED_OUT, FAILED -> {
+                messages.send(player, result == ReleaseResult.TIMED_OUT ? MessageKey.RELEASE_FAIL_TIMEOUT : MessageKey.RELEASE_FAIL);
+                // The stasis entry is intact, so hand back the filled ball still linked to it
+                if (mobType != null) {
+                    giveOrDrop(player, items.createFilledBall(ballId, mobType, false, null), spawnAt);
+                } else {
+                    giveOrDrop(player, items.createEmptyBall(), spawnAt);
+                }
+            }
+        }
+    }
+
     private Location resolveImpactSpawn(final ProjectileHitEvent event, final Projectile proj, final EntityType type) {
         final Block hitBlock = event.getHitBlock();
         if (hitBlock != null) {
@@ -333,26 +332,64 @@ public final class ProjectileListeners implements Listener {
 
     @EventHandler
     public void onDamage(final EntityDamageByEntityEvent event) {
-        if (!(event.getDamager() instanceof final Projectile proj)) {
+        if (!(event.getDamager() instanceof final Snowball proj)) {
             return;
         }
-        if (proj
-                .getPersistentDataContainer()
-                .get(keys.getProjectileBall(), PersistentDataType.BYTE) != null) {
+        final BallState ball = projectiles.get(proj);
+        if (ball != null && !ball.filled()) {
             // Prevent damage from Pokeball projectile
             event.setCancelled(true);
         }
     }
 
+    /**
+     * Re-registers Pokeball projectiles loaded back with their chunk
+     */
+    @EventHandler
+    public void onAddToWorld(final EntityAddToWorldEvent event) {
+        if (event.getEntity() instanceof final Snowball proj) {
+            projectiles.restore(proj);
+        }
+    }
+
+    /**
+     * Unregisters projectiles on removal and chunk unload
+     */
+    @EventHandler
+    public void onRemoveFromWorld(final EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof final Snowball proj) {
+            projectiles.forget(proj);
+            recorder.forget(proj);
+        }
+    }
+
     private void handleCapture(final Player player, final Entity target, final Location dropAt) {
-        if (!worldAllowed(player.getWorld().getName())) {
-            player.sendMessage(msg(cfg
-                                           .messages()
-                                           .getPrefix() + " " + cfg
-                    .messages()
-                    .getCaptureFailWorld()));
+        final long start = System.nanoTime();
+        final CaptureEvent event = new CaptureEvent();
+        event.begin();
+        final boolean captured = capture(player, target, dropAt);
+        metrics.record(Timer.CAPTURE, start);
+        metrics.increment(captured ? Counter.CAPTURES : Counter.CAPTURE_FAILURES);
+        recorder.capture(target.getType(), captured);
+        if (event.shouldCommit()) {
+            event.entityType = target
+                    .getType()
+                    .name();
+            event.captured = captured;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return true if the target was parked and the filled ball handed out
+     */
+    private boolean capture(final Player player, final Entity target, final Location dropAt) {
+        if (!cfg
+                .stasis()
+                .worldAllowed(player.getWorld())) {
+            messages.send(player, MessageKey.CAPTURE_FAIL_WORLD);
             giveOrDrop(player, items.createEmptyBall(), dropAt);
-            return;
+            return false;
         }
         final EntityType type = target.getType();
 
@@ -366,44 +403,35 @@ public final class ProjectileListeners implements Listener {
         }
 
         if (target instanceof Player) {
-            player.sendMessage(msg(cfg
-                                           .messages()
-                                           .getPrefix() + " " + cfg
-                    .messages()
-                    .getCaptureFailPlayer()));
+            messages.send(player, MessageKey.CAPTURE_FAIL_PLAYER);
             giveOrDrop(player, items.createEmptyBall(), dropAt);
-            return;
+            return false;
         }
 
-        if (!cfg.capture().allowedTypes().contains(type)) {
+        if (!cfg
+                .capture()
+                .isAllowed(type)) {
             if (!specialCapture) {
                 // No permission and not allowed - fail
-                player.sendMessage(msg(cfg.messages().getPrefix() + " " + cfg.messages().getCaptureFailBlocked()));
+                messages.send(player, MessageKey.CAPTURE_FAIL_BLOCKED);
                 // Return empty ball on failure
                 giveOrDrop(player, items.createEmptyBall(), dropAt);
-                return;
+                return false;
             }
             // Has permission and mob not in allowed list - mark that we used special permission
             usedSpecialPermission = true;
         }
 
 
-        // Success: park target in stasis and give filled ball linked to it
-        final var filled = items.createEmptyBall();
-        final var idStr = filled
-                .getItemMeta()
-                .getPersistentDataContainer()
-                .get(keys.getBallId(), PersistentDataType.STRING);
-        final UUID ballId = UUID.fromString(Objects.requireNonNull(idStr));
+        // Success: park target in stasis and give filled ball linked to it; the ball id is minted here
+        final UUID ballId = UUID.randomUUID();
         try {
             stasis.park(target, ballId);
         } catch (final IllegalStateException cap) {
-            player.sendMessage(msg(cfg
-                                           .messages()
-                                           .getPrefix() + " <red>Capture refused: storage is full.</red>"));
+            messages.send(player, MessageKey.CAPTURE_FAIL_FULL);
             // Refund empty ball
             giveOrDrop(player, items.createEmptyBall(), dropAt);
-            return;
+            return false;
         }
         // Effects: capture
         plugin
@@ -414,19 +442,18 @@ public final class ProjectileListeners implements Listener {
                 .specialCaptureAnnotate()) ? cfg
                 .capture()
                 .specialCaptureAnnotation() : null;
-        items.markCaptured(filled, type, usedSpecialPermission, annotation);
+        final ItemStack filled = items.createFilledBall(ballId, type, usedSpecialPermission, annotation);
         giveOrDrop(player, filled, dropAt);
-        final String captureMessage = cfg.messages().getCaptureSuccess();
-        player.sendMessage(msg(cfg.messages().getPrefix() + " " +
-                                       (captureMessage != null ? captureMessage : "<green>Captured a <yellow><type></yellow>!")
-                                               .replace("<type>", type.name())));
+        messages.send(player, MessageKey.CAPTURE_SUCCESS, MessageArgs.type(type.name()));
+        return true;
     }
 
     private void giveOrDrop(final Player player, final ItemStack stack, final Location dropAt) {
         final var world = dropAt.getWorld();
+        // Releases complete asynchronously, so the thrower may have logged out by now
         if (cfg
                 .effects()
-                .refundMode() == RefundMode.DROP) {
+                .refundMode() == RefundMode.DROP || !player.isOnline()) {
             if (world != null) {
                 try {
                     world.dropItemNaturally(dropAt, stack);
@@ -454,20 +481,4 @@ public final class ProjectileListeners implements Listener {
             }
         }
     }
-
-    private boolean worldAllowed(final String world) {
-        return cfg
-                .stasis()
-                .allowedWorlds()
-                .isEmpty() || cfg
-                .stasis()
-                .allowedWorlds()
-                .contains(world);
-    }
-
-    private Component msg(final String mm) {
-        return plugin
-                .mini()
-                .deserialize(mm);
-    }
 }
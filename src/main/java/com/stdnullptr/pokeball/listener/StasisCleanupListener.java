@@ -19,19 +19,8 @@ public final class StasisCleanupListener implements Listener {
         final UUID uuid = event
                 .getEntity()
                 .getUniqueId();
-        // If a stasis entity somehow dies, remove stale mapping
-        for (final String id : stasis.ids()) {
-            try {
-                final var mapped = UUID.fromString(stasis
-                        .data()
-                        .getString(id + ".uuid", ""));
-                if (uuid.equals(mapped)) {
-                    stasis.remove(UUID.fromString(id));
-                    break;
-                }
-            } catch (final Exception ignored) {
-            }
-        }
+        // If a stasis entity somehow dies, remove stale mapping (single index lookup)
+        stasis.removeByEntity(uuid);
     }
 }
 
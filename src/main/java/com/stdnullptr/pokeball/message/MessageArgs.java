@@ -0,0 +1,34 @@
+package com.stdnullptr.pokeball.message;
+
+/**
+ * Values for the placeholders a {@link MessageTemplate} supports; unset values render empty
+ *
+ * @param type   Entity type name, for {@code <type>}
+ * @param count  Amount, for {@code <count>}
+ * @param player Player name, for {@code <player>}
+ */
+public record MessageArgs(
+        String type,
+        String count,
+        String player
+) {
+
+    public static final MessageArgs NONE = new MessageArgs(null, null, null);
+
+    public static MessageArgs type(final String type) {
+        return new MessageArgs(type, null, null);
+    }
+
+    public static MessageArgs given(final int count, final String player) {
+        return new MessageArgs(null, String.valueOf(count), player);
+    }
+
+    String value(final String placeholder) {
+        return switch (placeholder) {
+            case MessageTemplate.TYPE -> type;
+            case MessageTemplate.COUNT -> count;
+            case MessageTemplate.PLAYER -> player;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.stdnullptr.pokeball.message;
+
+import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.MessageKey;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Sends configured messages from the templates compiled at config load
+ */
+public final class MessageService {
+
+    private final ConfigManager cfg;
+
+    public MessageService(final ConfigManager cfg) {
+        this.cfg = cfg;
+    }
+
+    public Component render(final MessageKey key, final MessageArgs args) {
+        return cfg
+                .messages()
+                .template(key)
+                .render(args);
+    }
+
+    public void send(final Audience audience, final MessageKey key) {
+        send(audience, key, MessageArgs.NONE);
+    }
+
+    public void send(final Audience audience, final MessageKey key, final MessageArgs args) {
+        audience.sendMessage(render(key, args));
+    }
+
+    /**
+     * Sends the bare prefix, e.g. as a header above command output
+     */
+    public void sendHeader(final Audience audience) {
+        audience.sendMessage(cfg
+                                     .messages()
+                                     .header()
+                                     .render());
+    }
+}
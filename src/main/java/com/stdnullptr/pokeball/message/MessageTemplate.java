@@ -0,0 +1,160 @@
+package com.stdnullptr.pokeball.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A MiniMessage string parsed once. The {@code <type>}, {@code <count>} and {@code <player>}
+ * placeholders are resolved at parse time into marker characters, so they land anywhere MiniMessage
+ * accepts them, including hover text and click values; rendering copies only the parts of the tree
+ * that hold a marker and swaps in the values as literal text. Templates without placeholders render
+ * as the same immutable component every time.
+ */
+public final class MessageTemplate {
+
+    static final String TYPE = "type";
+
+    static final String COUNT = "count";
+
+    static final String PLAYER = "player";
+
+    private static final String[] PLACEHOLDERS = {TYPE, COUNT, PLAYER};
+
+    // Private-use characters: a marker is MARK followed by MARK + 1 + the placeholder's index
+    private static final char MARK = '\uE000';
+
+    private static final TagResolver MARKERS = TagResolver.resolver(
+            Placeholder.parsed(TYPE, marker(0)),
+            Placeholder.parsed(COUNT, marker(1)),
+            Placeholder.parsed(PLAYER, marker(2))
+    );
+
+    private final Component component;
+
+    private final boolean dynamic;
+
+    private MessageTemplate(final Component component, final boolean dynamic) {
+        this.component = component;
+        this.dynamic = dynamic;
+    }
+
+    public static MessageTemplate compile(final MiniMessage mini, final String miniMessage) {
+        if (miniMessage.indexOf(MARK) >= 0) {
+            throw new IllegalArgumentException("Message contains a reserved character (U+E000): " + miniMessage);
+        }
+        final Component component = mini.deserialize(miniMessage, MARKERS);
+        return new MessageTemplate(component, containsMarker(component));
+    }
+
+    public Component render() {
+        return render(MessageArgs.NONE);
+    }
+
+    public Component render(final MessageArgs args) {
+        return dynamic ? fill(component, args) : component;
+    }
+
+    private static String marker(final int index) {
+        return new String(new char[]{MARK, (char) (MARK + 1 + index)});
+    }
+
+    private static boolean containsMarker(final Component component) {
+        if (component instanceof final TextComponent text && text
+                .content()
+                .indexOf(MARK) >= 0) {
+            return true;
+        }
+        if (fill(component.style(), MessageArgs.NONE) != component.style()) {
+            return true;
+        }
+        for (final Component child : component.children()) {
+            if (containsMarker(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The component with markers replaced, or the same instance if it holds none
+     */
+    private static Component fill(final Component component, final MessageArgs args) {
+        Component result = component;
+        if (component instanceof final TextComponent text && text
+                .content()
+                .indexOf(MARK) >= 0) {
+            result = text.content(substitute(text.content(), args));
+        }
+        final Style style = component.style();
+        final Style filled = fill(style, args);
+        if (filled != style) {
+            result = result.style(filled);
+        }
+        final List<Component> children = component.children();
+        List<Component> filledChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            final Component child = children.get(i);
+            final Component filledChild = fill(child, args);
+            if (filledChild != child) {
+                if (filledChildren == null) {
+                    filledChildren = new ArrayList<>(children);
+                }
+                filledChildren.set(i, filledChild);
+            }
+        }
+        return filledChildren == null ? result : result.children(filledChildren);
+    }
+
+    /**
+     * Fills hover text, click values and insertions
+     *
+     * @return The style with markers replaced, or the same instance if it holds none
+     */
+    private static Style fill(final Style style, final MessageArgs args) {
+        Style result = style;
+        final HoverEvent<?> hover = style.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            final Component text = (Component) hover.value();
+            final Component filled = fill(text, args);
+            if (filled != text) {
+                result = result.hoverEvent(HoverEvent.showText(filled));
+            }
+        }
+        final ClickEvent click = style.clickEvent();
+        if (click != null && click.payload() instanceof final ClickEvent.Payload.Text payload && payload
+                .value()
+                .indexOf(MARK) >= 0) {
+            result = result.clickEvent(ClickEvent.clickEvent(click.action(), substitute(payload.value(), args)));
+        }
+        final String insertion = style.insertion();
+        if (insertion != null && insertion.indexOf(MARK) >= 0) {
+            result = result.insertion(substitute(insertion, args));
+        }
+        return result;
+    }
+
+    private static String substitute(final String text, final MessageArgs args) {
+        final StringBuilder out = new StringBuilder(text.length() + 16);
+        int from = 0;
+        for (int at = text.indexOf(MARK); at >= 0 && at + 1 < text.length(); at = text.indexOf(MARK, from)) {
+            out.append(text, from, at);
+            final String value = args.value(PLACEHOLDERS[text.charAt(at + 1) - MARK - 1]);
+            if (value != null) {
+                out.append(value);
+            }
+            from = at + 2;
+        }
+        return out
+                .append(text, from, text.length())
+                .toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.stdnullptr.pokeball.metrics;
+
+/**
+ * Monotonic event counters
+ */
+public enum Counter {
+    LAUNCHES,
+    CAPTURES,
+    CAPTURE_FAILURES,
+    RELEASES,
+    RELEASE_FAILURES,
+    FLUSHES,
+    FLUSH_FAILURES,
+    FLUSHED_BYTES,
+    AUDIT_REMOVED
+}
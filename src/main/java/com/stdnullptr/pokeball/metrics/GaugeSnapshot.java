@@ -0,0 +1,33 @@
+package com.stdnullptr.pokeball.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable sample of main-thread state, taken on the main thread for readers on other threads
+ *
+ * @param liveByWorld    Live parked entries per stash world
+ * @param virtualByWorld Serialized entries per capture world
+ * @param shards         Live parked entities per stash chunk
+ */
+public record GaugeSnapshot(
+        Map<String, Integer> liveByWorld,
+        Map<String, Integer> virtualByWorld,
+        List<Shard> shards,
+        int pendingWrites,
+        int trailsTracked,
+        boolean trailTaskRunning,
+        int projectilesInFlight
+) {
+
+    public static final GaugeSnapshot EMPTY = new GaugeSnapshot(Map.of(), Map.of(), List.of(), 0, 0, false, 0);
+
+    public GaugeSnapshot {
+        liveByWorld = Map.copyOf(liveByWorld);
+        virtualByWorld = Map.copyOf(virtualByWorld);
+        shards = List.copyOf(shards);
+    }
+
+    public record Shard(String world, int chunkX, int chunkZ, int entities) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.stdnullptr.pokeball.metrics;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}
+ *
+ * @param buckets  Count per bucket (owned by the snapshot, never mutate)
+ * @param count    Number of recorded values
+ * @param sumNanos Sum of recorded values
+ * @param maxNanos Largest recorded value
+ */
+public record HistogramSnapshot(long[] buckets, long count, long sumNanos, long maxNanos) {
+
+    public double meanNanos() {
+        return count == 0L ? 0.0 : (double) sumNanos / count;
+    }
+
+    /**
+     * Estimates a quantile by linear interpolation inside its bucket; exact to within one bucket width
+     *
+     * @param quantile Between 0.0 and 1.0
+     */
+    public long quantileNanos(final double quantile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        final double rank = quantile * (count - 1);
+        long seen = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            final long inBucket = buckets[i];
+            if (inBucket == 0L) {
+                continue;
+            }
+            if (seen + inBucket > rank) {
+                final long lower = LatencyHistogram.lowerBound(i);
+                final long upper = i + 1 < LatencyHistogram.BUCKETS ? LatencyHistogram.lowerBound(i + 1) : Long.MAX_VALUE;
+                final double within = (rank - seen + 0.5) / inBucket;
+                return Math.min(maxNanos, lower + (long) ((upper - lower) * within));
+            }
+            seen += inBucket;
+        }
+        return maxNanos;
+    }
+
+    /**
+     * @return Largest value that lands in {@code bucket}
+     */
+    public long upperBound(final int bucket) {
+        return bucket + 1 < LatencyHistogram.BUCKETS ? LatencyHistogram.lowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return Number of recorded values below {@code nanos}; exact when {@code nanos} is a power of two
+     */
+    public long countBelow(final long nanos) {
+        long below = 0L;
+        for (int i = 0; i < buckets.length && upperBound(i) < nanos; i++) {
+            below += buckets[i];
+        }
+        return below;
+    }
+}
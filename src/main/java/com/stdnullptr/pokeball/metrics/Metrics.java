@@ -0,0 +1,59 @@
+package com.stdnullptr.pokeball.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plugin-wide metrics registry with one histogram per {@link Timer} and one adder per
+ * {@link Counter}, indexed by ordinal. Recording is lock-free and allocation-free and may
+ * happen on any thread; reading goes through {@link #snapshot()}.
+ */
+public final class Metrics {
+
+    private static final Timer[] TIMERS = Timer.values();
+
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[TIMERS.length];
+
+    private final LongAdder[] counters = new LongAdder[COUNTERS.length];
+
+    private final long startedNanos = System.nanoTime();
+
+    public Metrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value taken from {@link System#nanoTime()}
+     */
+    public void record(final Timer timer, final long startNanos) {
+        histograms[timer.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void increment(final Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    public void add(final Counter counter, final long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    public MetricsSnapshot snapshot() {
+        final Map<Timer, HistogramSnapshot> timers = new EnumMap<>(Timer.class);
+        for (final Timer timer : TIMERS) {
+            timers.put(timer, histograms[timer.ordinal()].snapshot());
+        }
+        final Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+        for (final Counter counter : COUNTERS) {
+            counts.put(counter, counters[counter.ordinal()].sum());
+        }
+        return new MetricsSnapshot(System.nanoTime() - startedNanos, timers, counts);
+    }
+}
@@ -0,0 +1,35 @@
+package com.stdnullptr.pokeball.metrics;
+
+import java.util.Map;
+
+/**
+ * Immutable point-in-time copy of every metric, safe to read from any thread
+ *
+ * @param uptimeNanos Time since the registry was created
+ */
+public record MetricsSnapshot(
+        long uptimeNanos,
+        Map<Timer, HistogramSnapshot> timers,
+        Map<Counter, Long> counters
+) {
+
+    public MetricsSnapshot {
+        timers = Map.copyOf(timers);
+        counters = Map.copyOf(counters);
+    }
+
+    public HistogramSnapshot timer(final Timer timer) {
+        return timers.get(timer);
+    }
+
+    public long counter(final Counter counter) {
+        return counters.getOrDefault(counter, 0L);
+    }
+
+    /**
+     * @return Average events per minute over the uptime
+     */
+    public double perMinute(final Counter counter) {
+        return uptimeNanos <= 0L ? 0.0 : counter(counter) * 60_000_000_000.0 / uptimeNanos;
+    }
+}
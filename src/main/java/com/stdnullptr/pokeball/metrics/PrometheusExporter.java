@@ -0,0 +1,259 @@
+package com.stdnullptr.pokeball.metrics;
+
+import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.PrometheusSpec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Optional HTTP endpoint serving every metric in the Prometheus text format at {@code /metrics}.
+ * Requests are handled on the exporter's own thread and only read immutable snapshots: metric
+ * snapshots are taken lock-free per scrape, and main-thread state is sampled into a
+ * {@link GaugeSnapshot} once a second by a constant-time main-thread task that only picks up
+ * counters and already-published snapshots. Follows the {@code metrics.prometheus}
+ * section, restarting itself when it changes on reload.
+ */
+public final class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final long SAMPLE_PERIOD_TICKS = 20L;
+
+    // Histogram bucket bounds: powers of two from ~1µs to ~17s, which are exact bucket boundaries
+    private static final int MIN_EXPONENT = 10;
+
+    private static final int MAX_EXPONENT = 34;
+
+    private final Plugin plugin;
+
+    private final ConfigManager cfg;
+
+    private final Metrics metrics;
+
+    private final Supplier<GaugeSnapshot> sampler;
+
+    private final Logger logger;
+
+    private volatile GaugeSnapshot gauges = GaugeSnapshot.EMPTY;
+
+    private PrometheusSpec running;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private BukkitTask sampling;
+
+    /**
+     * @param sampler Reads main-thread state into a snapshot; only ever called on the main thread
+     */
+    public PrometheusExporter(
+            final Plugin plugin,
+            final ConfigManager cfg,
+            final Metrics metrics,
+            final Supplier<GaugeSnapshot> sampler
+    ) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.metrics = metrics;
+        this.sampler = sampler;
+        this.logger = plugin.getSLF4JLogger();
+        cfg.onReload(this::sync);
+    }
+
+    /**
+     * Starts, stops or rebinds the endpoint to match the current {@code metrics.prometheus} settings
+     */
+    public synchronized void sync() {
+        final PrometheusSpec spec = cfg.prometheus();
+        if (spec.equals(running)) {
+            return;
+        }
+        stop();
+        if (spec.enabled()) {
+            start(spec);
+        }
+    }
+
+    /**
+     * Stops serving; safe to call when not running
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        sampling.cancel();
+        server = null;
+        executor = null;
+        sampling = null;
+        running = null;
+    }
+
+    private void start(final PrometheusSpec spec) {
+        try {
+            final HttpServer http = HttpServer.create(new InetSocketAddress(spec.host(), spec.port()), 0);
+            executor = Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, "Pokeball-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            http.setExecutor(executor);
+            http.createContext("/metrics", this::handle);
+            http.start();
+            server = http;
+            running = spec;
+            sampling = plugin
+                    .getServer()
+                    .getScheduler()
+                    .runTaskTimer(plugin, () -> gauges = sampler.get(), 0L, SAMPLE_PERIOD_TICKS);
+            logger.info("Serving Prometheus metrics on http://{}:{}/metrics", spec.host(), spec.port());
+        } catch (final IOException e) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            logger.warn("Could not start the Prometheus exporter on {}:{}", spec.host(), spec.port(), e);
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] body = render(metrics.snapshot(), gauges).getBytes(StandardCharsets.UTF_8);
+            exchange
+                    .getResponseHeaders()
+                    .set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    static String render(final MetricsSnapshot snapshot, final GaugeSnapshot gauges) {
+        final StringBuilder out = new StringBuilder(8192);
+
+        header(out, "pokeball_uptime_seconds", "gauge", "Time since the plugin was enabled");
+        sample(out, "pokeball_uptime_seconds", "", seconds(snapshot.uptimeNanos()));
+
+        for (final Counter counter : Counter.values()) {
+            final String name = "pokeball_" + counter
+                    .name()
+                    .toLowerCase(Locale.ROOT) + "_total";
+            header(out, name, "counter", "Count of " + counter
+                    .name()
+                    .toLowerCase(Locale.ROOT)
+                    .replace('_', ' '));
+            sample(out, name, "", snapshot.counter(counter));
+        }
+
+        for (final Timer timer : Timer.values()) {
+            final HistogramSnapshot histogram = snapshot.timer(timer);
+            final String name = "pokeball_" + timer
+                    .name()
+                    .toLowerCase(Locale.ROOT) + "_duration_seconds";
+            header(out, name, "histogram", "Duration of " + timer
+                    .name()
+                    .toLowerCase(Locale.ROOT) + " operations");
+            for (int exponent = MIN_EXPONENT; exponent <= MAX_EXPONENT; exponent++) {
+                final long bound = 1L << exponent;
+                sample(out, name + "_bucket", "le=\"" + seconds(bound) + "\"", histogram.countBelow(bound));
+            }
+            sample(out, name + "_bucket", "le=\"+Inf\"", histogram.count());
+            sample(out, name + "_sum", "", seconds(histogram.sumNanos()));
+            sample(out, name + "_count", "", histogram.count());
+        }
+
+        header(out, "pokeball_stasis_entries", "gauge", "Stasis entries per world and storage mode");
+        worldSamples(out, gauges.liveByWorld(), "live");
+        worldSamples(out, gauges.virtualByWorld(), "virtual");
+
+        header(out, "pokeball_stash_shard_entities", "gauge", "Live parked entities per stash chunk");
+        for (final GaugeSnapshot.Shard shard : gauges.shards()) {
+            sample(
+                    out,
+                    "pokeball_stash_shard_entities",
+                    "world=\"" + escape(shard.world()) + "\",chunk_x=\"" + shard.chunkX() + "\",chunk_z=\"" + shard.chunkZ() + "\"",
+                    shard.entities()
+            );
+        }
+
+        header(out, "pokeball_stasis_pending_writes", "gauge", "Stasis changes not yet written to disk");
+        sample(out, "pokeball_stasis_pending_writes", "", gauges.pendingWrites());
+        header(out, "pokeball_flight_trails_tracked", "gauge", "Projectiles whose flight trail is rendered");
+        sample(out, "pokeball_flight_trails_tracked", "", gauges.trailsTracked());
+        header(out, "pokeball_flight_trail_tasks", "gauge", "Running flight trail ticker tasks");
+        sample(out, "pokeball_flight_trail_tasks", "", gauges.trailTaskRunning() ? 1 : 0);
+        header(out, "pokeball_projectiles_in_flight", "gauge", "Pokeball projectiles currently registered");
+        sample(out, "pokeball_projectiles_in_flight", "", gauges.projectilesInFlight());
+        return out.toString();
+    }
+
+    private static void worldSamples(final StringBuilder out, final Map<String, Integer> byWorld, final String mode) {
+        for (final Map.Entry<String, Integer> entry : byWorld.entrySet()) {
+            sample(
+                    out,
+                    "pokeball_stasis_entries",
+                    "world=\"" + escape(entry.getKey()) + "\",mode=\"" + mode + "\"",
+                    entry.getValue()
+            );
+        }
+    }
+
+    private static void header(final StringBuilder out, final String name, final String type, final String help) {
+        out
+                .append("# HELP ")
+                .append(name)
+                .append(' ')
+                .append(help)
+                .append('\n')
+                .append("# TYPE ")
+                .append(name)
+                .append(' ')
+                .append(type)
+                .append('\n');
+    }
+
+    private static void sample(final StringBuilder out, final String name, final String labels, final Object value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out
+                    .append('{')
+                    .append(labels)
+                    .append('}');
+        }
+        out
+                .append(' ')
+                .append(value)
+                .append('\n');
+    }
+
+    private static String seconds(final long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(final String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+}
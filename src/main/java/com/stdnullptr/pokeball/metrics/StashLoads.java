@@ -0,0 +1,27 @@
+package com.stdnullptr.pokeball.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable stasis entry counts, republished by the main thread whenever entries change so other
+ * threads can read them without touching main-thread state
+ *
+ * @param liveByWorld    Live parked entries per stash world
+ * @param virtualByWorld Serialized entries per capture world
+ * @param shards         Live parked entities per stash chunk
+ */
+public record StashLoads(
+        Map<String, Integer> liveByWorld,
+        Map<String, Integer> virtualByWorld,
+        List<GaugeSnapshot.Shard> shards
+) {
+
+    public static final StashLoads EMPTY = new StashLoads(Map.of(), Map.of(), List.of());
+
+    public StashLoads {
+        liveByWorld = Map.copyOf(liveByWorld);
+        virtualByWorld = Map.copyOf(virtualByWorld);
+        shards = List.copyOf(shards);
+    }
+}
@@ -0,0 +1,41 @@
+package com.stdnullptr.pokeball.metrics;
+
+/**
+ * Operations whose duration is recorded into a {@link LatencyHistogram}
+ */
+public enum Timer {
+    /**
+     * Handling a Pokeball launch: classify the hand item, register the projectile, start the trail
+     */
+    LAUNCH,
+
+    /**
+     * Handling a Pokeball projectile hit, up to handing off a release to the chunk loader
+     */
+    HIT,
+
+    /**
+     * Capture rules, parking and the filled ball hand-out
+     */
+    CAPTURE,
+
+    /**
+     * Freezing and stashing (or serializing) a captured entity
+     */
+    PARK,
+
+    /**
+     * From the release request until the stash chunk was handled, including the async chunk load
+     */
+    RELEASE,
+
+    /**
+     * One background write of pending stasis changes
+     */
+    FLUSH,
+
+    /**
+     * One full stasis audit run, wall time
+     */
+    AUDIT
+}
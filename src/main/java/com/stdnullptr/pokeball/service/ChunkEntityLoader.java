@@ -0,0 +1,97 @@
+package com.stdnullptr.pokeball.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads chunks through Paper's async chunk API and waits until their entities are available.
+ * Chunks are held by a plugin chunk ticket while a request is pending so they cannot unload
+ * between the chunk load and the (separately scheduled) entity load. All callbacks run on the
+ * main thread.
+ */
+public final class ChunkEntityLoader {
+
+    private final Plugin plugin;
+
+    private final Map<ChunkRef, Integer> holds = new HashMap<>();
+
+    public ChunkEntityLoader(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Requests a chunk and completes once its entities are loaded.
+     * Completes with null if the chunk was never generated, and exceptionally with a
+     * {@link TimeoutException} if entities are not available within {@code timeoutTicks}.
+     */
+    public CompletableFuture<Chunk> load(final World world, final int chunkX, final int chunkZ, final long timeoutTicks) {
+        final CompletableFuture<Chunk> result = new CompletableFuture<>();
+        final BukkitTask timeout = Bukkit
+                .getScheduler()
+                .runTaskLater(
+                        plugin,
+                        () -> result.completeExceptionally(new TimeoutException(
+                                "Chunk " + chunkX + "," + chunkZ + " in " + world.getName() + " did not load in time")),
+                        Math.max(1L, timeoutTicks)
+                );
+        result.whenComplete((chunk, error) -> timeout.cancel());
+
+        world
+                .getChunkAtAsync(chunkX, chunkZ, false)
+                .whenComplete((chunk, error) -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                        return;
+                    }
+                    if (chunk == null || chunk.isEntitiesLoaded()) {
+                        result.complete(chunk);
+                        return;
+                    }
+                    // Entities of a freshly loaded chunk arrive a little later; hold the chunk and poll
+                    final ChunkRef ref = new ChunkRef(world.getUID(), chunkX, chunkZ);
+                    hold(ref, chunk);
+                    result.whenComplete((c, e) -> release(ref, chunk));
+                    new BukkitRunnable() {
+                        @Override
+                        public void run() {
+                            if (result.isDone()) {
+                                cancel();
+                            } else if (chunk.isEntitiesLoaded()) {
+                                cancel();
+                                result.complete(chunk);
+                            }
+                        }
+                    }.runTaskTimer(plugin, 1L, 1L);
+                });
+        return result;
+    }
+
+    private void hold(final ChunkRef ref, final Chunk chunk) {
+        if (holds.merge(ref, 1, Integer::sum) == 1) {
+            chunk.addPluginChunkTicket(plugin);
+        }
+    }
+
+    private void release(final ChunkRef ref, final Chunk chunk) {
+        final Integer left = holds.computeIfPresent(ref, (k, count) -> count > 1 ? count - 1 : null);
+        if (left == null) {
+            chunk.removePluginChunkTicket(plugin);
+        }
+    }
+
+    private record ChunkRef(UUID world, int x, int z) {
+    }
+}
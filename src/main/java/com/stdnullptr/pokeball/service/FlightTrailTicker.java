@@ -0,0 +1,169 @@
+package com.stdnullptr.pokeball.service;
+
+import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.FlightSpec;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Projectile;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the flight trail of every Pokeball in the air from one shared task, through the
+ * {@link ParticleDispatcher} so trails share the effect particle budget.
+ * The task only runs while projectiles are tracked; dust options are rebuilt only when the
+ * flight config changes, and the per-projectile location is read into a reused scratch object.
+ * Main thread only.
+ */
+public final class FlightTrailTicker {
+
+    private static final Color TRAIL_COLOR = Color.fromRGB(220, 40, 40);
+
+    private final Plugin plugin;
+
+    private final ConfigManager cfg;
+
+    private final ParticleDispatcher particles;
+
+    private final List<Projectile> active = new ArrayList<>();
+
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private BukkitTask task;
+
+    private long ticks;
+
+    private FlightSpec cachedSpec;
+
+    private Particle.DustOptions cachedDust;
+
+    public FlightTrailTicker(final Plugin plugin, final ConfigManager cfg, final ParticleDispatcher particles) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.particles = particles;
+    }
+
+    /**
+     * Starts rendering the trail of a freshly launched projectile
+     */
+    public void track(final Projectile projectile) {
+        active.add(projectile);
+        if (task == null) {
+            task = plugin
+                    .getServer()
+                    .getScheduler()
+                    .runTaskTimer(plugin, this::tick, 0L, 1L);
+        }
+    }
+
+    /**
+     * Stops rendering a projectile's trail, e.g. once it hit something
+     */
+    public void untrack(final Projectile projectile) {
+        final int index = active.indexOf(projectile);
+        if (index >= 0) {
+            removeAt(index);
+        }
+        stopIfIdle();
+    }
+
+    public int size() {
+        return active.size();
+    }
+
+    /**
+     * @return true while the shared trail task is scheduled
+     */
+    public boolean running() {
+        return task != null;
+    }
+
+    private void tick() {
+        final FlightSpec flight = cfg
+                .effects()
+                .flight();
+        final boolean render = flight != null && flight.enabled() && ticks++ % flight.tickPeriod() == 0;
+        if (render && flight != cachedSpec) {
+            cachedSpec = flight;
+            cachedDust = new Particle.DustOptions(TRAIL_COLOR, Math.max(0.1f, flight.dustSize()));
+        }
+        // Iterate backwards so swap-removal of dead projectiles never skips an entry
+        for (int i = active.size() - 1; i >= 0; i--) {
+            final Projectile proj = active.get(i);
+            if (!proj.isValid() || proj.isDead()) {
+                removeAt(i);
+                continue;
+            }
+            if (render) {
+                render(proj, flight);
+            }
+        }
+        stopIfIdle();
+    }
+
+    private void render(final Projectile proj, final FlightSpec flight) {
+        final Location loc = proj.getLocation(scratch);
+        final World world = loc.getWorld();
+        if (flight.dust()) {
+            particles.spawn(
+                    world,
+                    loc.getX(),
+                    loc.getY(),
+                    loc.getZ(),
+                    Particle.DUST,
+                    flight.dustCount(),
+                    0.0,
+                    0.0,
+                    0.0,
+                    1.0,
+                    cachedDust
+            );
+        }
+        if (!flight.endRod()) {
+            return;
+        }
+        final Vector v = proj.getVelocity();
+        final double lengthSquared = v.lengthSquared();
+        if (lengthSquared <= 1.0E-4) {
+            return;
+        }
+        // Streak points trail behind the projectile along its normalized velocity
+        final double step = flight.endRodStep() / Math.sqrt(lengthSquared);
+        final int streak = Math.max(0, flight.endRodPoints());
+        for (int i = 1; i <= streak; i++) {
+            final double back = step * i;
+            particles.spawn(
+                    world,
+                    loc.getX() - v.getX() * back,
+                    loc.getY() - v.getY() * back,
+                    loc.getZ() - v.getZ() * back,
+                    Particle.END_ROD,
+                    1,
+                    0.0,
+                    0.0,
+                    0.0,
+                    0.0,
+                    null
+            );
+        }
+    }
+
+    private void removeAt(final int index) {
+        final int last = active.size() - 1;
+        active.set(index, active.get(last));
+        active.remove(last);
+    }
+
+    private void stopIfIdle() {
+        if (active.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
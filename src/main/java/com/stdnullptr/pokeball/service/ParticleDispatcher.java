@@ -0,0 +1,192 @@
+package com.stdnullptr.pokeball.service;
+
+import com.destroystokyo.paper.ParticleBuilder;
+import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.config.models.ParticleBudget;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queues effect particles and sends them once per tick under a global and a per-chunk budget.
+ * Over budget, every queued burst of a chunk is scaled by the same factor (with the remainder
+ * carried from point to point), so rings and streaks get sparser instead of disappearing.
+ * Packets go only to players within the configured view distance. Main thread only.
+ */
+public final class ParticleDispatcher {
+
+    private final Plugin plugin;
+
+    private final ConfigManager cfg;
+
+    private final List<Shot> queue = new ArrayList<>();
+
+    private final ParticleBuilder builder = new ParticleBuilder(Particle.CLOUD);
+
+    private final List<Player> receivers = new ArrayList<>();
+
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private BukkitTask task;
+
+    public ParticleDispatcher(final Plugin plugin, final ConfigManager cfg) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+    }
+
+    public void spawn(
+            final Location at,
+            final Particle particle,
+            final int count,
+            final double offsetX,
+            final double offsetY,
+            final double offsetZ,
+            final double extra,
+            final Object data
+    ) {
+        spawn(at.getWorld(), at.getX(), at.getY(), at.getZ(), particle, count, offsetX, offsetY, offsetZ, extra, data);
+    }
+
+    /**
+     * Queues a particle burst for the next dispatch; a count below 1 is sent as a single particle
+     */
+    public void spawn(
+            final World world,
+            final double x,
+            final double y,
+            final double z,
+            final Particle particle,
+            final int count,
+            final double offsetX,
+            final double offsetY,
+            final double offsetZ,
+            final double extra,
+            final Object data
+    ) {
+        if (world == null) {
+            return;
+        }
+        queue.add(new Shot(world, x, y, z, particle, Math.max(1, count), offsetX, offsetY, offsetZ, extra, data));
+        if (task == null) {
+            task = plugin
+                    .getServer()
+                    .getScheduler()
+                    .runTaskTimer(plugin, this::dispatch, 1L, 1L);
+        }
+    }
+
+    private void dispatch() {
+        if (queue.isEmpty()) {
+            task.cancel();
+            task = null;
+            return;
+        }
+        final ParticleBudget budget = cfg
+                .effects()
+                .particleBudget();
+        final Map<ChunkGroup, Group> groups = new LinkedHashMap<>();
+        for (final Shot shot : queue) {
+            final Group group = groups.computeIfAbsent(
+                    new ChunkGroup(shot.world().getUID(), (int) Math.floor(shot.x()) >> 4, (int) Math.floor(shot.z()) >> 4),
+                    k -> new Group()
+            );
+            group.shots.add(shot);
+            group.requested += shot.count();
+        }
+        queue.clear();
+
+        // Per-chunk cap first, then scale everything down to the global cap
+        long allowedTotal = 0L;
+        for (final Group group : groups.values()) {
+            group.allowed = budget.maxPerChunk() > 0 ? Math.min(group.requested, budget.maxPerChunk()) : group.requested;
+            allowedTotal += group.allowed;
+        }
+        final double globalFactor = budget.maxPerTick() > 0 && allowedTotal > budget.maxPerTick()
+                ? (double) budget.maxPerTick() / allowedTotal
+                : 1.0;
+        final double rangeSquared = budget.viewDistance() * budget.viewDistance();
+        for (final Group group : groups.values()) {
+            final Shot first = group.shots.getFirst();
+            collectReceivers(first, rangeSquared);
+            if (receivers.isEmpty()) {
+                continue;
+            }
+            final double factor = globalFactor * group.allowed / group.requested;
+            double carry = 0.5;
+            for (final Shot shot : group.shots) {
+                carry += shot.count() * factor;
+                final int emit = (int) carry;
+                carry -= emit;
+                if (emit > 0) {
+                    send(shot, emit);
+                }
+            }
+        }
+        receivers.clear();
+    }
+
+    private void collectReceivers(final Shot origin, final double rangeSquared) {
+        receivers.clear();
+        for (final Player player : origin
+                .world()
+                .getPlayers()) {
+            final Location loc = player.getLocation(scratch);
+            final double dx = loc.getX() - origin.x();
+            final double dy = loc.getY() - origin.y();
+            final double dz = loc.getZ() - origin.z();
+            if (dx * dx + dy * dy + dz * dz <= rangeSquared) {
+                receivers.add(player);
+            }
+        }
+    }
+
+    private void send(final Shot shot, final int count) {
+        try {
+            builder
+                    .particle(shot.particle())
+                    .location(shot.world(), shot.x(), shot.y(), shot.z())
+                    .count(count)
+                    .offset(shot.offsetX(), shot.offsetY(), shot.offsetZ())
+                    .extra(shot.extra())
+                    .data(shot.data())
+                    .receivers(receivers)
+                    .spawn();
+        } catch (final Exception ignored) {
+        }
+    }
+
+    private record Shot(
+            World world,
+            double x,
+            double y,
+            double z,
+            Particle particle,
+            int count,
+            double offsetX,
+            double offsetY,
+            double offsetZ,
+            double extra,
+            Object data
+    ) {
+    }
+
+    private record ChunkGroup(UUID world, int x, int z) {
+    }
+
+    private static final class Group {
+        private final List<Shot> shots = new ArrayList<>();
+
+        private int requested;
+
+        private int allowed;
+    }
+}
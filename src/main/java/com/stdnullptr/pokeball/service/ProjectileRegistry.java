@@ -0,0 +1,72 @@
+package com.stdnullptr.pokeball.service;
+
+import com.stdnullptr.pokeball.item.BallState;
+import com.stdnullptr.pokeball.util.IntHashMap;
+import com.stdnullptr.pokeball.util.Keys;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.UUID;
+
+/**
+ * Pokeball projectiles currently in the world, keyed by runtime entity id, so hit and damage
+ * handlers can reject foreign projectiles with one primitive lookup. The projectile PDC tags stay
+ * the source of truth across chunk saves and are read only when a projectile (re)enters a world.
+ * Main thread only.
+ */
+public final class ProjectileRegistry {
+
+    private final Keys keys;
+
+    private final IntHashMap<BallState> thrown = new IntHashMap<>();
+
+    public ProjectileRegistry(final Keys keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Tags a freshly launched projectile (PDC, for persistence) and registers it
+     */
+    public void launch(final Projectile projectile, final BallState ball) {
+        final PersistentDataContainer pdc = projectile.getPersistentDataContainer();
+        if (ball.filled()) {
+            pdc.set(keys.getProjectileReleaseId(), PersistentDataType.STRING, ball.ballId().toString());
+        } else {
+            pdc.set(keys.getProjectileBall(), PersistentDataType.BYTE, (byte) 1);
+        }
+        thrown.put(projectile.getEntityId(), ball);
+    }
+
+    /**
+     * Re-registers a projectile loaded back into a world from its PDC tags
+     */
+    public void restore(final Projectile projectile) {
+        final PersistentDataContainer pdc = projectile.getPersistentDataContainer();
+        final String releaseId = pdc.get(keys.getProjectileReleaseId(), PersistentDataType.STRING);
+        if (releaseId != null) {
+            try {
+                thrown.put(projectile.getEntityId(), new BallState(true, UUID.fromString(releaseId)));
+            } catch (final IllegalArgumentException ignored) {
+            }
+        } else if (pdc.has(keys.getProjectileBall(), PersistentDataType.BYTE)) {
+            thrown.put(projectile.getEntityId(), BallState.EMPTY);
+        }
+    }
+
+    /**
+     * @return the ball a projectile was thrown as, or null if it is not a Pokeball
+     */
+    public BallState get(final Entity projectile) {
+        return thrown.get(projectile.getEntityId());
+    }
+
+    public void forget(final Entity projectile) {
+        thrown.remove(projectile.getEntityId());
+    }
+
+    public int size() {
+        return thrown.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.stdnullptr.pokeball.service;
+
+/**
+ * Outcome of an asynchronous stasis release
+ */
+public enum ReleaseResult {
+    /**
+     * The stored entity was moved to the target and its stasis entry removed
+     */
+    RELEASED,
+
+    /**
+     * No usable stasis entry or stored entity exists for the ball; the entry (if any) was removed
+     */
+    NOT_FOUND,
+
+    /**
+     * The stash chunk did not load in time; the stasis entry is kept so the ball stays valid
+     */
+    TIMED_OUT,
+
+    /**
+     * The stored entity could not be restored; the stasis entry is kept so the ball stays valid
+     */
+    FAILED
+}
@@ -0,0 +1,213 @@
+package com.stdnullptr.pokeball.service;
+
+import com.stdnullptr.pokeball.config.ConfigManager;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import com.stdnullptr.pokeball.metrics.Timer;
+import com.stdnullptr.pokeball.service.storage.StasisEntry;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically verifies that every live stasis entry still has its world and parked entity.
+ * Entries are grouped by stash chunk so each chunk is visited once per run; chunks are loaded
+ * through the async chunk API with a bounded number of loads in flight, and the work done on the
+ * main thread each tick stops once the configured nanosecond budget is spent.
+ * Entries whose chunk cannot be loaded in time are kept rather than guessed stale. Main thread only.
+ */
+public final class StasisAuditor {
+
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private static final long STARTUP_DELAY_TICKS = 20L;
+
+    private final Plugin plugin;
+
+    private final ConfigManager cfg;
+
+    private final StasisService stasis;
+
+    private final Logger logger;
+
+    private final Metrics metrics;
+
+    private BukkitTask next;
+
+    private Run current;
+
+    private volatile Stats lastRun;
+
+    public StasisAuditor(
+            final Plugin plugin,
+            final ConfigManager cfg,
+            final StasisService stasis,
+            final Metrics metrics
+    ) {
+        this.plugin = plugin;
+        this.cfg = cfg;
+        this.stasis = stasis;
+        this.logger = plugin.getSLF4JLogger();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Schedules the first audit shortly after startup; later runs follow the configured interval
+     */
+    public void start() {
+        schedule(STARTUP_DELAY_TICKS);
+    }
+
+    public void stop() {
+        if (next != null) {
+            next.cancel();
+            next = null;
+        }
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+    }
+
+    /**
+     * @return Statistics of the last completed audit, or null if none has finished yet
+     */
+    public Stats lastRun() {
+        return lastRun;
+    }
+
+    public boolean running() {
+        return current != null;
+    }
+
+    private void schedule(final long delayTicks) {
+        next = Bukkit
+                .getScheduler()
+                .runTaskLater(plugin, this::begin, delayTicks);
+    }
+
+    private void begin() {
+        next = null;
+        final Map<ChunkRef, List<StasisEntry>> byChunk = new LinkedHashMap<>();
+        for (final StasisEntry entry : stasis.entries()) {
+            if (entry.virtual()) {
+                // Serialized entities live in storage, there is nothing in the world to verify
+                continue;
+            }
+            byChunk
+                    .computeIfAbsent(new ChunkRef(entry.world(), entry.chunkX(), entry.chunkZ()), k -> new ArrayList<>())
+                    .add(entry);
+        }
+        current = new Run(byChunk
+                                  .values()
+                                  .iterator());
+        current.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    private void finish(final Run run) {
+        current = null;
+        final Stats stats = new Stats(run.scanned, run.removed, System.nanoTime() - run.startedNanos, System.currentTimeMillis());
+        lastRun = stats;
+        metrics.record(Timer.AUDIT, run.startedNanos);
+        metrics.add(Counter.AUDIT_REMOVED, run.removed);
+        if (stats.removed() > 0) {
+            logger.info(
+                    "Stasis audit removed {} stale entr{} ({} checked in {} ms).",
+                    stats.removed(),
+                    stats.removed() == 1 ? "y" : "ies",
+                    stats.scanned(),
+                    stats.durationNanos() / 1_000_000L
+            );
+        }
+        final long interval = cfg
+                .stasis()
+                .auditIntervalSeconds();
+        if (interval > 0L) {
+            schedule(interval * 20L);
+        }
+    }
+
+    /**
+     * One pass over a snapshot of the entries, driven once per tick until every chunk is checked
+     */
+    private final class Run extends BukkitRunnable {
+        private final Iterator<List<StasisEntry>> pending;
+        private final long startedNanos = System.nanoTime();
+        private int inFlight;
+        private int scanned;
+        private int removed;
+
+        private Run(final Iterator<List<StasisEntry>> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void run() {
+            final long deadline = System.nanoTime() + cfg
+                    .stasis()
+                    .auditBudgetNanos();
+            while (inFlight < MAX_IN_FLIGHT && pending.hasNext() && System.nanoTime() < deadline) {
+                final List<StasisEntry> group = pending.next();
+                final StasisEntry first = group.getFirst();
+                final World world = Bukkit.getWorld(first.world());
+                if (world == null) {
+                    for (final StasisEntry entry : group) {
+                        scanned++;
+                        if (stasis.forgetIfCurrent(entry)) {
+                            removed++;
+                        }
+                    }
+                    continue;
+                }
+                inFlight++;
+                stasis
+                        .chunks()
+                        .load(world, first.chunkX(), first.chunkZ(), cfg
+                                .stasis()
+                                .releaseTimeoutTicks())
+                        .whenComplete((chunk, error) -> {
+                            inFlight--;
+                            if (error == null) {
+                                verify(group);
+                            }
+                        });
+            }
+            if (inFlight == 0 && !pending.hasNext() && !isCancelled()) {
+                cancel();
+                finish(this);
+            }
+        }
+
+        private void verify(final List<StasisEntry> group) {
+            for (final StasisEntry entry : group) {
+                scanned++;
+                if (Bukkit.getEntity(entry.entityId()) == null && stasis.forgetIfCurrent(entry)) {
+                    removed++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of one audit run
+     *
+     * @param scanned       Live entries whose chunk could be checked
+     * @param removed       Stale entries dropped
+     * @param durationNanos Wall time from start to the last chunk check
+     * @param finishedAt    Completion time in epoch millis
+     */
+    public record Stats(int scanned, int removed, long durationNanos, long finishedAt) {
+    }
+
+    private record ChunkRef(String world, int x, int z) {
+    }
+}
@@ -1,42 +1,84 @@
 package com.stdnullptr.pokeball.service;
 
 import com.stdnullptr.pokeball.config.ConfigManager;
-import com.stdnullptr.pokeball.config.models.EffectSpec;
+import com.stdnullptr.pokeball.config.models.EffectPlan;
+import com.stdnullptr.pokeball.config.models.StashShard;
+import com.stdnullptr.pokeball.config.models.StashTarget;
+import com.stdnullptr.pokeball.config.models.StasisMode;
+import com.stdnullptr.pokeball.jfr.EffectEvent;
+import com.stdnullptr.pokeball.jfr.ParkEvent;
+import com.stdnullptr.pokeball.jfr.ReleaseEvent;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.GaugeSnapshot;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import com.stdnullptr.pokeball.metrics.StashLoads;
+import com.stdnullptr.pokeball.metrics.Timer;
+import com.stdnullptr.pokeball.service.storage.StasisEntry;
+import com.stdnullptr.pokeball.service.storage.StasisStore;
+import com.stdnullptr.pokeball.service.storage.StasisStores;
+import com.stdnullptr.pokeball.util.UuidHashMap;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
-import org.bukkit.Color;
 import org.bukkit.Location;
-import org.bukkit.NamespacedKey;
 import org.bukkit.Particle;
-import org.bukkit.Registry;
 import org.bukkit.World;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
-import org.slf4j.Logger;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 public final class StasisService {
+    private static final int DESPAWN_MAX_IN_FLIGHT = 8;
+
+    private static final int DESPAWN_CHUNKS_PER_TICK = 4;
+
+    private static final int SWIRL_PARTICLES = 40;
+
     private final Plugin plugin;
 
     private final ConfigManager cfg;
-    private final File file;
-    private final FileConfiguration data;
+    private final StasisStore store;
+    private final Map<UUID, StasisEntry> entries = new LinkedHashMap<>();
+    // Reverse index entity uuid -> ball id, kept in sync with entries
+    private final UuidHashMap<UUID> ballIdsByEntity = new UuidHashMap<>();
+    private final Set<UUID> releasing = new HashSet<>();
+    // Live parked entities per stash chunk, used to pick the least-loaded shard
+    private final Map<ChunkKey, Integer> chunkLoads = new HashMap<>();
+    // Entries per world, split into live and virtual, kept in sync with entries
+    private final Map<String, Integer> liveByWorld = new HashMap<>();
+    private final Map<String, Integer> virtualByWorld = new HashMap<>();
+    // Immutable copy of the counts above, replaced whenever entries change, for off-thread readers
+    private volatile StashLoads loads = StashLoads.EMPTY;
+    private final ChunkEntityLoader chunks;
+    private final ParticleDispatcher particles;
+    private final Metrics metrics;
 
-    public StasisService(final Plugin plugin, final ConfigManager cfg) {
+    public StasisService(
+            final Plugin plugin,
+            final ConfigManager cfg,
+            final ParticleDispatcher particles,
+            final Metrics metrics
+    ) {
         this.plugin = plugin;
         this.cfg = cfg;
+        this.particles = particles;
+        this.metrics = metrics;
+        this.chunks = new ChunkEntityLoader(plugin);
         if (!plugin
                 .getDataFolder()
                 .exists()) {
@@ -44,89 +86,70 @@ public final class StasisService {
                     .getDataFolder()
                     .mkdirs();
         }
-        this.file = new File(plugin.getDataFolder(), "stasis.yml");
-        this.data = YamlConfiguration.loadConfiguration(file);
+        this.store = StasisStores.open(
+                plugin
+                        .getDataFolder()
+                        .toPath(),
+                cfg.stasis(),
+                plugin.getSLF4JLogger(),
+                metrics
+        );
+        for (final StasisEntry entry : store
+                .load()
+                .values()) {
+            track(entry);
+        }
+        publishLoads();
     }
 
     /**
-     * Clean up stale entries from stasis.yml asynchronously after startup by
-     * processing a small batch per tick to avoid blocking the main thread.
+     * @throws IllegalStateException if the stasis cap or every stash shard is full
      */
-    public void cleanupInvalidAsync(final Logger logger) {
-        final List<String> keys = new ArrayList<>(data.getKeys(false));
-        if (keys.isEmpty()) {
-            return;
-        }
-        final int batchSize = 100;
-        final int[] index = {0};
-        final int[] removed = {0};
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                int processed = 0;
-                while (index[0] < keys.size() && processed < batchSize) {
-                    final String key = keys.get(index[0]++);
-                    processed++;
-                    try {
-                        final String worldName = data.getString(key + ".world");
-                        final String uuidStr = data.getString(key + ".uuid");
-                        final Integer cx = (data.contains(key + ".chunkX") ? data.getInt(key + ".chunkX") : null);
-                        final Integer cz = (data.contains(key + ".chunkZ") ? data.getInt(key + ".chunkZ") : null);
-                        if (worldName == null || uuidStr == null || cx == null || cz == null) {
-                            data.set(key, null);
-                            removed[0]++;
-                            continue;
-                        }
-                        final World world = Bukkit.getWorld(worldName);
-                        if (world == null) {
-                            data.set(key, null);
-                            removed[0]++;
-                            continue;
-                        }
-                        final Chunk ch = world.getChunkAt(cx, cz);
-                        if (!ch.isLoaded()) {
-                            ch.load();
-                        }
-                        final UUID uuid = UUID.fromString(uuidStr);
-                        final Entity ent = Bukkit.getEntity(uuid);
-                        if (ent == null) {
-                            data.set(key, null);
-                            removed[0]++;
-                        }
-                    } catch (final Exception ex) {
-                        data.set(key, null);
-                        removed[0]++;
-                    }
-                }
-                if (index[0] >= keys.size()) {
-                    if (removed[0] > 0) {
-                        save();
-                        logger.info(
-                                "Cleaned {} stale stasis entr{} on startup.",
-                                removed[0],
-                                removed[0] == 1 ? "y" : "ies"
-                        );
-                    }
-                    cancel();
-                }
+    public void park(final Entity entity, final UUID ballId) {
+        final long start = System.nanoTime();
+        final ParkEvent event = new ParkEvent();
+        event.begin();
+        final String fromWorld = event.isEnabled() ? entity
+                .getWorld()
+                .getName() : null;
+        try {
+            parkEntity(entity, ballId);
+        } finally {
+            publishLoads();
+            metrics.record(Timer.PARK, start);
+            if (event.shouldCommit()) {
+                final StasisEntry entry = entries.get(ballId);
+                event.entityType = entity
+                        .getType()
+                        .name();
+                event.parked = entry != null;
+                event.virtual = entry != null && entry.virtual();
+                event.crossWorld = entry != null && !entry
+                        .world()
+                        .equals(fromWorld);
+                event.commit();
             }
-        }.runTaskTimer(plugin, 1L, 1L);
+        }
     }
 
-    public void park(final Entity entity, final UUID ballId) {
+    private void parkEntity(final Entity entity, final UUID ballId) {
         // Enforce cap if configured (0 = unlimited)
         final int maxTotal = cfg.stasis().capTotal();
         if (maxTotal > 0) {
-            final int total = data
-                    .getKeys(false)
-                    .size();
-            if (total >= maxTotal) {
+            if (entries.size() >= maxTotal) {
                 // refuse capture by throwing IllegalStateException; caller will handle refund
                 throw new IllegalStateException("Stasis cap reached");
             }
         }
+        if (cfg
+                .stasis()
+                .mode() == StasisMode.VIRTUAL && entity instanceof LivingEntity && parkVirtual(entity, ballId)) {
+            return;
+        }
         // Freeze and hide entity at stash
         if (entity instanceof final LivingEntity le) {
+            // Pick the shard first: a full stash refuses the capture before the entity is touched
+            final Location stashLoc = computeStashLocation(le.getWorld());
             try {
                 le.setAI(false);
             } catch (final Exception ignored) {
@@ -157,39 +180,157 @@ public final class StasisService {
             }
 
             // Move to stash location to avoid collisions/visibility at capture point
-            final Location stashLoc = computeStashLocation(le.getWorld());
             le.teleport(stashLoc);
 
             // Persist mapping (after teleport)
-            final String key = ballId.toString();
             final var loc = le.getLocation();
-            data.set(key + ".world", loc.getWorld().getName());
-            data.set(key + ".uuid", le.getUniqueId().toString());
-            data.set(key + ".chunkX", loc.getChunk().getX());
-            data.set(key + ".chunkZ", loc.getChunk().getZ());
-            data.set(key + ".type", le.getType().name());
-            save();
+            final StasisEntry entry = new StasisEntry(
+                    ballId,
+                    le.getUniqueId(),
+                    loc
+                            .getWorld()
+                            .getName(),
+                    loc.getBlockX() >> 4,
+                    loc.getBlockZ() >> 4,
+                    le.getType(),
+                    null
+            );
+            track(entry);
+            store.put(entry);
+        }
+    }
+
+    /**
+     * Serializes the entity into stasis storage and removes it from the world
+     *
+     * @return false if the entity cannot be serialized (the caller falls back to live parking)
+     */
+    private boolean parkVirtual(final Entity entity, final UUID ballId) {
+        final byte[] data;
+        try {
+            data = Bukkit
+                    .getUnsafe()
+                    .serializeEntity(entity);
+        } catch (final Exception e) {
+            plugin
+                    .getSLF4JLogger()
+                    .warn("Could not serialize {} for virtual stasis; parking it live instead", entity.getType(), e);
+            return false;
+        }
+        final var loc = entity.getLocation();
+        final StasisEntry entry = new StasisEntry(
+                ballId,
+                entity.getUniqueId(),
+                loc
+                        .getWorld()
+                        .getName(),
+                loc.getBlockX() >> 4,
+                loc.getBlockZ() >> 4,
+                entity.getType(),
+                data
+        );
+        entity.remove();
+        track(entry);
+        store.put(entry);
+        return true;
+    }
+
+    /**
+     * Re-creates a serialized entity at the target
+     */
+    private ReleaseResult restoreVirtual(final StasisEntry entry, final Location target) {
+        try {
+            final Entity restored = Bukkit
+                    .getUnsafe()
+                    .deserializeEntity(entry.data(), target.getWorld(), true);
+            if (!restored.spawnAt(target)) {
+                return ReleaseResult.FAILED;
+            }
+        } catch (final Exception e) {
+            plugin
+                    .getSLF4JLogger()
+                    .error("Failed to restore {} from virtual stasis entry {}", entry.type(), entry.ballId(), e);
+            return ReleaseResult.FAILED;
+        }
+        playReleaseEffects(target);
+        forget(entry.ballId());
+        return ReleaseResult.RELEASED;
+    }
+
+    /**
+     * Releases the entity stored for a ball at the target location. For live entries the stash chunk
+     * is loaded asynchronously; the returned future completes on the main thread once the entity has
+     * been moved, was found missing, or the chunk did not load within the configured timeout.
+     * Virtual entries are re-created immediately.
+     */
+    public CompletableFuture<ReleaseResult> release(final UUID ballId, final Location target) {
+        final long start = System.nanoTime();
+        final ReleaseEvent event = new ReleaseEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            describe(event, ballId, target);
         }
+        final CompletableFuture<ReleaseResult> result = startRelease(ballId, target);
+        result.whenComplete((outcome, error) -> {
+            metrics.record(Timer.RELEASE, start);
+            metrics.increment(outcome == ReleaseResult.RELEASED ? Counter.RELEASES : Counter.RELEASE_FAILURES);
+            if (event.shouldCommit()) {
+                event.outcome = outcome == null ? "ERROR" : outcome.name();
+                event.commit();
+            }
+        });
+        return result;
     }
 
-    public boolean release(final UUID ballId, final Location target) {
-        final String key = ballId.toString();
-        final String worldName = data.getString(key + ".world");
-        final String uuidStr = data.getString(key + ".uuid");
-        final Integer cx = (data.contains(key + ".chunkX") ? data.getInt(key + ".chunkX") : null);
-        final Integer cz = (data.contains(key + ".chunkZ") ? data.getInt(key + ".chunkZ") : null);
-        if (worldName == null || uuidStr == null || cx == null || cz == null) return false;
-        final World world = Bukkit.getWorld(worldName);
-        if (world == null) return false;
+    /**
+     * Fills the parts of a release event that must be read before the release changes them
+     */
+    private void describe(final ReleaseEvent event, final UUID ballId, final Location target) {
+        final StasisEntry entry = entries.get(ballId);
+        if (entry == null) {
+            return;
+        }
+        final World world = Bukkit.getWorld(entry.world());
+        event.entityType = entry.type() == null ? null : entry
+                .type()
+                .name();
+        event.virtual = entry.virtual();
+        event.chunkLoaded = entry.virtual() || world != null && world.isChunkLoaded(entry.chunkX(), entry.chunkZ());
+        event.crossWorld = !entry.virtual() && target.getWorld() != null && !target
+                .getWorld()
+                .getName()
+                .equals(entry.world());
+    }
 
-        // Ensure source chunk is loaded so the entity becomes accessible
-        final Chunk ch = world.getChunkAt(cx, cz);
-        if (!ch.isLoaded()) ch.load();
+    private CompletableFuture<ReleaseResult> startRelease(final UUID ballId, final Location target) {
+        final StasisEntry entry = entries.get(ballId);
+        if (entry == null) return CompletableFuture.completedFuture(ReleaseResult.NOT_FOUND);
+        if (entry.virtual()) return CompletableFuture.completedFuture(restoreVirtual(entry, target));
+        final World world = Bukkit.getWorld(entry.world());
+        if (world == null) return CompletableFuture.completedFuture(ReleaseResult.NOT_FOUND);
+        if (!releasing.add(ballId)) return CompletableFuture.completedFuture(ReleaseResult.NOT_FOUND);
 
-        final UUID uuid = UUID.fromString(uuidStr);
-        final Entity e = Bukkit.getEntity(uuid);
-        if (e == null) return false;
+        return chunks
+                .load(world, entry.chunkX(), entry.chunkZ(), releaseTimeoutTicks())
+                .handle((chunk, error) -> {
+                    releasing.remove(ballId);
+                    if (error != null) {
+                        return ReleaseResult.TIMED_OUT;
+                    }
+                    // The entry may have been cleaned or released while the chunk was loading
+                    if (entries.get(ballId) != entry) {
+                        return ReleaseResult.NOT_FOUND;
+                    }
+                    final Entity e = Bukkit.getEntity(entry.entityId());
+                    if (e == null) {
+                        forget(ballId);
+                        return ReleaseResult.NOT_FOUND;
+                    }
+                    return completeRelease(entry, e, target);
+                });
+    }
 
+    private ReleaseResult completeRelease(final StasisEntry entry, final Entity e, final Location target) {
         // Teleport while invisible, then unfreeze a tick later
         if (e instanceof final LivingEntity le) {
             le.teleport(target);
@@ -247,135 +388,361 @@ public final class StasisService {
             e.teleport(target);
         }
 
-        data.set(key, null);
-        save();
-        return true;
+        forget(entry.ballId());
+        return ReleaseResult.RELEASED;
     }
 
-    private Location computeStashLocation(final World fallbackWorld) {
-        World w = Bukkit.getWorld(cfg.stasis().world());
-        if (w == null) w = fallbackWorld;
-        return new Location(w, cfg.stasis().x(), cfg.stasis().y(), cfg.stasis().z());
+    private long releaseTimeoutTicks() {
+        return cfg
+                .stasis()
+                .releaseTimeoutTicks();
+    }
+
+    private Location computeStashLocation(final World sourceWorld) {
+        final StashTarget target = cfg
+                .stasis()
+                .stashTarget(sourceWorld.getName());
+        World w = Bukkit.getWorld(target.world());
+        if (w == null) w = sourceWorld;
+        final StashShard shard = leastLoadedShard(w, target.shards());
+        return new Location(w, shard.x(), shard.y(), shard.z());
+    }
+
+    /**
+     * @throws IllegalStateException if every shard has reached the per-shard cap
+     */
+    private StashShard leastLoadedShard(final World world, final List<StashShard> shards) {
+        StashShard best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (final StashShard shard : shards) {
+            final int load = chunkLoads.getOrDefault(new ChunkKey(world.getName(), shard.chunkX(), shard.chunkZ()), 0);
+            if (load < bestLoad) {
+                best = shard;
+                bestLoad = load;
+            }
+        }
+        final int maxPerShard = cfg
+                .stasis()
+                .maxPerShard();
+        if (best == null || (maxPerShard > 0 && bestLoad >= maxPerShard)) {
+            throw new IllegalStateException("All stash shards are full");
+        }
+        return best;
     }
 
     public EntityType peekType(final UUID ballId) {
-        final String type = data.getString(ballId.toString() + ".type");
-        if (type == null) return null;
-        try {
-            return EntityType.valueOf(type);
-        } catch (final Exception e) {
-            return null;
+        final StasisEntry entry = entries.get(ballId);
+        return entry == null ? null : entry.type();
+    }
+
+    /**
+     * Stops background persistence and flushes all pending stasis changes to disk
+     */
+    public void shutdown() {
+        store.close();
+    }
+
+    private void track(final StasisEntry entry) {
+        final StasisEntry previous = entries.put(entry.ballId(), entry);
+        if (previous != null) {
+            untrack(previous);
+        }
+        ballIdsByEntity.put(entry.entityId(), entry.ballId());
+        (entry.virtual() ? virtualByWorld : liveByWorld).merge(entry.world(), 1, Integer::sum);
+        if (!entry.virtual()) {
+            chunkLoads.merge(ChunkKey.of(entry), 1, Integer::sum);
         }
     }
 
-    private void save() {
-        try {
-            data.save(file);
-        } catch (final IOException e) {
-            plugin
-                    .getSLF4JLogger()
-                    .error("Failed to save stasis.yml", e);
+    private void untrack(final StasisEntry entry) {
+        ballIdsByEntity.remove(entry.entityId());
+        (entry.virtual() ? virtualByWorld : liveByWorld).computeIfPresent(entry.world(), (k, count) -> count > 1 ? count - 1 : null);
+        if (!entry.virtual()) {
+            chunkLoads.computeIfPresent(ChunkKey.of(entry), (k, count) -> count > 1 ? count - 1 : null);
         }
     }
 
-    // Utilities
-    public Set<String> ids() {
-        return data.getKeys(false);
+    /**
+     * Republishes the entry counts; called once per change, or once per batch
+     */
+    private void publishLoads() {
+        final List<GaugeSnapshot.Shard> shards = new ArrayList<>(chunkLoads.size());
+        for (final Map.Entry<ChunkKey, Integer> load : chunkLoads.entrySet()) {
+            final ChunkKey key = load.getKey();
+            shards.add(new GaugeSnapshot.Shard(key.world(), key.x(), key.z(), load.getValue()));
+        }
+        loads = new StashLoads(liveByWorld, virtualByWorld, shards);
     }
-    public FileConfiguration data() { return data; }
 
-    public EntityType typeOf(final UUID id) {
-        final String s = data.getString(id.toString() + ".type");
-        if (s == null) {
-            return null;
+    /**
+     * Drops {@code entry} unless it was replaced or removed since it was read
+     *
+     * @return true if the entry was removed
+     */
+    boolean forgetIfCurrent(final StasisEntry entry) {
+        if (entries.get(entry.ballId()) != entry) {
+            return false;
         }
-        try {
-            return EntityType.valueOf(s);
-        } catch (final Exception e) {
-            return null;
+        forget(entry.ballId());
+        return true;
+    }
+
+    ChunkEntityLoader chunks() {
+        return chunks;
+    }
+
+    private void forget(final UUID ballId) {
+        final StasisEntry removed = entries.remove(ballId);
+        if (removed != null) {
+            untrack(removed);
+            publishLoads();
+            store.remove(ballId);
+        }
+    }
+
+    /**
+     * @return Ball id holding the given entity, or null if the entity is not in stasis
+     */
+    public UUID ballIdOf(final UUID entityId) {
+        return ballIdsByEntity.get(entityId);
+    }
+
+    /**
+     * Drops the stasis entry holding the given entity, if any
+     *
+     * @return true if an entry was removed
+     */
+    public boolean removeByEntity(final UUID entityId) {
+        final UUID ballId = ballIdsByEntity.get(entityId);
+        if (ballId == null) {
+            return false;
         }
+        forget(ballId);
+        return true;
+    }
+
+    // Utilities
+    public Set<UUID> ids() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public Collection<StasisEntry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public int pendingWrites() {
+        return store.pendingWrites();
+    }
+
+    /**
+     * @return Entry counts as of the last change; safe to call from any thread
+     */
+    public StashLoads loads() {
+        return loads;
+    }
+
+    public EntityType typeOf(final UUID id) {
+        return peekType(id);
     }
 
     public Location locationOf(final UUID id) {
-        final String base = id.toString();
-        final String worldName = data.getString(base + ".world");
-        final Integer cx = (data.contains(base + ".chunkX") ? data.getInt(base + ".chunkX") : null);
-        final Integer cz = (data.contains(base + ".chunkZ") ? data.getInt(base + ".chunkZ") : null);
-        if (worldName == null || cx == null || cz == null) return null;
-        final World w = Bukkit.getWorld(worldName);
+        final StasisEntry entry = entries.get(id);
+        if (entry == null) return null;
+        final World w = Bukkit.getWorld(entry.world());
         if (w == null) {
             return null;
         }
-        final int x = cx << 4;
-        final int z = cz << 4;
+        final int x = entry.chunkX() << 4;
+        final int z = entry.chunkZ() << 4;
         return new Location(w, x + 8.0, w.getHighestBlockYAt(x + 8, z + 8) + 1.0, z + 8.0);
     }
 
     public boolean remove(final UUID id) {
-        data.set(id.toString(), null);
-        save();
+        forget(id);
         return true;
     }
 
-    public void playCaptureEffects(final Location at) {
-        playEffects(at, cfg.effects().captureEffect());
+    /**
+     * Drops the given entries in one store transaction, so persistence flushes once for the whole batch.
+     * Parked entities stay where they are; pass the result to {@link #despawn} to remove them.
+     *
+     * @return The entries that were removed
+     */
+    public List<StasisEntry> removeAll(final Collection<UUID> ballIds) {
+        final List<StasisEntry> removed = new ArrayList<>(ballIds.size());
+        final List<UUID> removedIds = new ArrayList<>(ballIds.size());
+        for (final UUID ballId : ballIds) {
+            final StasisEntry entry = entries.remove(ballId);
+            if (entry != null) {
+                untrack(entry);
+                removed.add(entry);
+                removedIds.add(ballId);
+            }
+        }
+        publishLoads();
+        store.removeAll(removedIds);
+        return removed;
     }
 
-    public void playReleaseEffects(final Location at) {
-        playEffects(at, cfg.effects().releaseEffect());
-    }
-
-    private void playEffects(final Location at, final EffectSpec spec) {
-        if (spec == null) return;
-        if (spec.particles()) {
-            if ("FANCY".equalsIgnoreCase(spec.particle())) {
-                try {
-                    // Ring of red dust around the point
-                    final var world = at.getWorld();
-                    final var dust = new Particle.DustOptions(Color.fromRGB(220, 40, 40), 1.3f);
-                    final int points = Math.max(12, spec.particleCount());
-                    final double radius = 0.7;
-                    for (int i = 0; i < points; i++) {
-                        final double angle = (2 * Math.PI * i) / points;
-                        final double x = at.getX() + Math.cos(angle) * radius;
-                        final double z = at.getZ() + Math.sin(angle) * radius;
-                        world.spawnParticle(Particle.DUST, new Location(world, x, at.getY() + 0.2, z), 1, dust);
-                    }
-                    // Sparkle burst
-                    world.spawnParticle(Particle.CRIT, at, Math.max(10, spec.particleCount() / 2), 0.2, 0.2, 0.2, 0.02);
-                    // Subtle swirl
-                    world.spawnParticle(
-                            Particle.END_ROD,
-                            at
-                                    .clone()
-                                    .add(0, 0.5, 0),
-                            40,
-                            0.6,
-                            0.6,
-                            0.6,
-                            0.0
-                    );
-                } catch (final Exception ignored) {
-                }
-            } else {
-                try {
-                    final var p = Particle.valueOf(spec.particle().toUpperCase());
-                    at.getWorld().spawnParticle(p, at, Math.max(1, spec.particleCount()));
-                } catch (final Exception ignored) {
+    /**
+     * Removes the parked entities of already-dropped entries, a few stash chunks per tick through
+     * the async chunk API. Virtual entries have nothing in the world and are skipped.
+     *
+     * @param progress Called with (entries checked, entries to check) as chunks complete
+     * @return Completes on the main thread with the number of entities removed
+     */
+    public CompletableFuture<Integer> despawn(
+            final Collection<StasisEntry> removed,
+            final BiConsumer<Integer, Integer> progress
+    ) {
+        final Map<ChunkKey, List<StasisEntry>> byChunk = new LinkedHashMap<>();
+        int total = 0;
+        for (final StasisEntry entry : removed) {
+            if (!entry.virtual()) {
+                byChunk
+                        .computeIfAbsent(ChunkKey.of(entry), k -> new ArrayList<>())
+                        .add(entry);
+                total++;
+            }
+        }
+        final BulkDespawn task = new BulkDespawn(
+                byChunk
+                        .values()
+                        .iterator(),
+                total,
+                progress
+        );
+        if (total == 0) {
+            task.done.complete(0);
+        } else {
+            task.runTaskTimer(plugin, 1L, 1L);
+        }
+        return task.done;
+    }
+
+    /**
+     * Starts up to {@link #DESPAWN_CHUNKS_PER_TICK} chunk loads per tick, with at most
+     * {@link #DESPAWN_MAX_IN_FLIGHT} pending, and removes each chunk's entities once it is loaded
+     */
+    private final class BulkDespawn extends BukkitRunnable {
+        private final Iterator<List<StasisEntry>> pending;
+        private final int total;
+        private final BiConsumer<Integer, Integer> progress;
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        private int inFlight;
+        private int checked;
+        private int despawned;
+
+        private BulkDespawn(
+                final Iterator<List<StasisEntry>> pending,
+                final int total,
+                final BiConsumer<Integer, Integer> progress
+        ) {
+            this.pending = pending;
+            this.total = total;
+            this.progress = progress;
+        }
+
+        @Override
+        public void run() {
+            int started = 0;
+            while (started < DESPAWN_CHUNKS_PER_TICK && inFlight < DESPAWN_MAX_IN_FLIGHT && pending.hasNext()) {
+                final List<StasisEntry> group = pending.next();
+                final StasisEntry first = group.getFirst();
+                final World world = Bukkit.getWorld(first.world());
+                if (world == null) {
+                    checked += group.size();
+                    continue;
                 }
+                started++;
+                inFlight++;
+                chunks
+                        .load(world, first.chunkX(), first.chunkZ(), releaseTimeoutTicks())
+                        .whenComplete((chunk, error) -> {
+                            inFlight--;
+                            if (error == null && chunk != null) {
+                                removeEntities(group);
+                            }
+                            checked += group.size();
+                            progress.accept(checked, total);
+                        });
+            }
+            if (inFlight == 0 && !pending.hasNext()) {
+                cancel();
+                done.complete(despawned);
             }
         }
-        if (spec.sound() != null && !spec.sound().isEmpty()) {
-            try {
-                final var key = NamespacedKey.fromString(spec.sound().toLowerCase());
-                if (key != null) {
-                    final var s = Registry.SOUNDS.get(key);
-                    if (s != null) {
-                        at.getWorld().playSound(at, s, spec.volume(), spec.pitch());
-                    }
+
+        private void removeEntities(final List<StasisEntry> group) {
+            for (final StasisEntry entry : group) {
+                // Skip entities that were parked again under a new ball in the meantime
+                if (ballIdsByEntity.get(entry.entityId()) != null) {
+                    continue;
+                }
+                final Entity entity = Bukkit.getEntity(entry.entityId());
+                if (entity != null) {
+                    entity.remove();
+                    despawned++;
                 }
-            } catch (final Exception ignored) {
             }
         }
     }
+
+    public void playCaptureEffects(final Location at) {
+        playEffects(at, cfg.effects().capturePlan(), "capture");
+    }
+
+    public void playReleaseEffects(final Location at) {
+        playEffects(at, cfg.effects().releasePlan(), "release");
+    }
+
+    private void playEffects(final Location at, final EffectPlan plan, final String kind) {
+        final World world = at.getWorld();
+        if (plan == null || world == null) return;
+        final EffectEvent event = new EffectEvent();
+        event.begin();
+        if (plan.fancy()) {
+            // Ring of red dust around the point
+            final double[] ringX = plan.ringX();
+            final double[] ringZ = plan.ringZ();
+            for (int i = 0; i < ringX.length; i++) {
+                particles.spawn(
+                        world,
+                        at.getX() + ringX[i],
+                        at.getY() + 0.2,
+                        at.getZ() + ringZ[i],
+                        Particle.DUST,
+                        1,
+                        0.0,
+                        0.0,
+                        0.0,
+                        1.0,
+                        plan.ringDust()
+                );
+            }
+            // Sparkle burst
+            particles.spawn(at, Particle.CRIT, plan.burstCount(), 0.2, 0.2, 0.2, 0.02, null);
+            // Subtle swirl
+            particles.spawn(world, at.getX(), at.getY() + 0.5, at.getZ(), Particle.END_ROD, SWIRL_PARTICLES, 0.6, 0.6, 0.6, 0.0, null);
+        } else if (plan.particle() != null) {
+            particles.spawn(at, plan.particle(), plan.particleCount(), 0.0, 0.0, 0.0, 1.0, null);
+        }
+        if (plan.sound() != null) {
+            world.playSound(at, plan.sound(), plan.volume(), plan.pitch());
+        }
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.particles = plan.fancy()
+                    ? plan.ringX().length + plan.burstCount() + SWIRL_PARTICLES
+                    : plan.particle() != null ? plan.particleCount() : 0;
+            event.sound = plan.sound() != null;
+            event.commit();
+        }
+    }
+
+    private record ChunkKey(String world, int x, int z) {
+        static ChunkKey of(final StasisEntry entry) {
+            return new ChunkKey(entry.world(), entry.chunkX(), entry.chunkZ());
+        }
+    }
 }
@@ -0,0 +1,501 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import com.stdnullptr.pokeball.metrics.Metrics;
+import org.bukkit.entity.EntityType;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of stasis puts and deletes.
+ * <p>
+ * Layout: an 8-byte header ({@code PKBJ} magic, format version) followed by records of
+ * {@code [op:byte][payload][crc32:int]}. PUT payloads are fixed-size: ball id and entity id
+ * as two longs each, then world id, chunkX, chunkZ and entity type id as ints. World and
+ * type ids index a name dictionary kept in NAME records of the same journal, so entries
+ * survive enum reordering between server versions. Virtual entries use a PUT_DATA record: the PUT
+ * payload followed by a length-prefixed serialized entity. DELETE payloads are the two ball id longs.
+ * <p>
+ * On startup the journal is replayed; a torn or corrupt tail (e.g. after a crash mid-append)
+ * is truncated at the last intact record. Once the share of dead records passes the configured
+ * ratio, the writer thread rewrites the journal with only live entries and swaps it in atomically.
+ */
+public final class JournalStasisStore extends WriteBehindStore {
+
+    private static final int MAGIC = 0x504B424A; // "PKBJ"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte OP_PUT = 1;
+
+    private static final byte OP_DELETE = 2;
+
+    private static final byte OP_NAME = 3;
+
+    private static final byte OP_PUT_DATA = 4;
+
+    private static final byte NAME_WORLD = 0;
+
+    private static final byte NAME_TYPE = 1;
+
+    private static final int PUT_PAYLOAD = 48;
+
+    private static final int DELETE_PAYLOAD = 16;
+
+    private static final int CRC_SIZE = 4;
+
+    private static final int NO_TYPE = -1;
+
+    /**
+     * Journals smaller than this are never compacted; rewriting them gains nothing
+     */
+    private static final int MIN_COMPACT_RECORDS = 256;
+
+    private final Path file;
+
+    private final double compactRatio;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Writer-thread state (touched by the loading thread only before the writer starts)
+    private final Map<UUID, StasisEntry> live = new LinkedHashMap<>();
+
+    private final Dictionary worlds = new Dictionary(NAME_WORLD);
+
+    private final Dictionary types = new Dictionary(NAME_TYPE);
+
+    private final CRC32 crc = new CRC32();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+    private FileChannel channel;
+
+    private long records;
+
+    private boolean needsRewrite;
+
+    public JournalStasisStore(
+            final Path file,
+            final Logger logger,
+            final Metrics metrics,
+            final long flushIntervalMillis,
+            final int flushThreshold,
+            final double compactRatio
+    ) {
+        super(logger, metrics, flushIntervalMillis, flushThreshold);
+        this.file = file;
+        this.compactRatio = compactRatio;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Replaces the journal with the given entries; used by the one-time stasis.yml import
+     * before {@link #load()} is called
+     */
+    public void seed(final Collection<StasisEntry> entries) throws IOException {
+        live.clear();
+        for (final StasisEntry entry : entries) {
+            live.put(entry.ballId(), entry);
+        }
+        rewrite();
+        closeResources();
+    }
+
+    @Override
+    protected Map<UUID, StasisEntry> readAll() {
+        try {
+            replay();
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to open stasis journal " + file, e);
+        }
+        return new LinkedHashMap<>(live);
+    }
+
+    @Override
+    public void put(final StasisEntry entry) {
+        queue.add(new Pending(entry.ballId(), entry));
+        mutated(pending.incrementAndGet());
+    }
+
+    @Override
+    public void remove(final UUID ballId) {
+        queue.add(new Pending(ballId, null));
+        mutated(pending.incrementAndGet());
+    }
+
+    @Override
+    public void removeAll(final Collection<UUID> ballIds) {
+        if (ballIds.isEmpty()) {
+            return;
+        }
+        for (final UUID ballId : ballIds) {
+            queue.add(new Pending(ballId, null));
+        }
+        mutated(pending.addAndGet(ballIds.size()));
+    }
+
+    @Override
+    public int pendingWrites() {
+        return pending.get();
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        if (needsRewrite) {
+            // A previous append failed part-way; the live view is authoritative, so rewrite from it
+            compact();
+            needsRewrite = false;
+        }
+        if (queue.isEmpty() || channel == null) {
+            return;
+        }
+        buffer.clear();
+        int drained = 0;
+        Pending next;
+        while ((next = queue.poll()) != null) {
+            drained++;
+            if (next.entry() == null) {
+                if (live.remove(next.ballId()) != null) {
+                    encodeDelete(next.ballId());
+                }
+            } else {
+                live.put(next.ballId(), next.entry());
+                encodePut(next.entry());
+            }
+        }
+        pending.addAndGet(-drained);
+        buffer.flip();
+        wrote(buffer.remaining());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (final IOException e) {
+            needsRewrite = true;
+            throw e;
+        }
+
+        final long dead = records - live.size();
+        if (records >= MIN_COMPACT_RECORDS && dead >= records * compactRatio) {
+            compact();
+        }
+    }
+
+    @Override
+    protected void closeResources() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            logger.warn("Failed to close stasis journal", e);
+        }
+        channel = null;
+    }
+
+    private void compact() throws IOException {
+        final long before = records;
+        closeResources();
+        rewrite();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.info("Compacted stasis journal: {} -> {} records", before, records);
+    }
+
+    /**
+     * Writes a fresh journal containing only live entries, then atomically replaces the old one
+     */
+    private void rewrite() throws IOException {
+        worlds.clear();
+        types.clear();
+        records = 0;
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        for (final StasisEntry entry : live.values()) {
+            encodePut(entry);
+        }
+        buffer.flip();
+        final Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        wrote(buffer.remaining());
+        try (FileChannel out = FileChannel.open(
+                tmp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        moveAtomically(tmp, file);
+    }
+
+    private void replay() throws IOException {
+        live.clear();
+        worlds.clear();
+        types.clear();
+        records = 0;
+        if (!Files.exists(file)) {
+            rewrite();
+            return;
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        final ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            final Path aside = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            Files.move(file, aside);
+            logger.error("Stasis journal has an unknown header; moved it to {} and started empty", aside.getFileName());
+            rewrite();
+            return;
+        }
+        int good = HEADER_SIZE;
+        while (in.hasRemaining()) {
+            final int start = in.position();
+            final int payload = payloadLength(in, start);
+            if (payload < 0 || in.remaining() < 1 + payload + CRC_SIZE) {
+                break;
+            }
+            crc.reset();
+            crc.update(bytes, start, 1 + payload);
+            if ((int) crc.getValue() != in.getInt(start + 1 + payload)) {
+                break;
+            }
+            applyRecord(in, start);
+            in.position(start + 1 + payload + CRC_SIZE);
+            good = in.position();
+        }
+        if (good < bytes.length) {
+            logger.warn(
+                    "Stasis journal had {} trailing byte(s) of torn or corrupt data; truncating to last intact record",
+                    bytes.length - good
+            );
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                out.truncate(good);
+                out.force(true);
+            }
+        }
+    }
+
+    /**
+     * @return Payload length of the record at {@code start}, or -1 if unknown/incomplete
+     */
+    private static int payloadLength(final ByteBuffer in, final int start) {
+        final byte op = in.get(start);
+        return switch (op) {
+            case OP_PUT -> PUT_PAYLOAD;
+            case OP_DELETE -> DELETE_PAYLOAD;
+            case OP_NAME -> in.limit() - start < 8 ? -1 : 7 + Short.toUnsignedInt(in.getShort(start + 6));
+            case OP_PUT_DATA -> {
+                if (in.limit() - start < 1 + PUT_PAYLOAD + 4) {
+                    yield -1;
+                }
+                final int length = in.getInt(start + 1 + PUT_PAYLOAD);
+                yield length < 0 ? -1 : PUT_PAYLOAD + 4 + length;
+            }
+            default -> -1;
+        };
+    }
+
+    private void applyRecord(final ByteBuffer in, final int start) {
+        in.position(start);
+        final byte op = in.get();
+        switch (op) {
+            case OP_PUT, OP_PUT_DATA -> {
+                final UUID ballId = new UUID(in.getLong(), in.getLong());
+                final UUID entityId = new UUID(in.getLong(), in.getLong());
+                final String world = worlds.name(in.getInt());
+                final int chunkX = in.getInt();
+                final int chunkZ = in.getInt();
+                final int typeId = in.getInt();
+                byte[] data = null;
+                if (op == OP_PUT_DATA) {
+                    data = new byte[in.getInt()];
+                    in.get(data);
+                }
+                records++;
+                if (world == null) {
+                    return;
+                }
+                live.put(ballId, new StasisEntry(ballId, entityId, world, chunkX, chunkZ, toType(types.name(typeId)), data));
+            }
+            case OP_DELETE -> {
+                records++;
+                live.remove(new UUID(in.getLong(), in.getLong()));
+            }
+            case OP_NAME -> {
+                final byte kind = in.get();
+                final int id = in.getInt();
+                final byte[] raw = new byte[Short.toUnsignedInt(in.getShort())];
+                in.get(raw);
+                (kind == NAME_WORLD ? worlds : types).define(id, new String(raw, StandardCharsets.UTF_8));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void encodePut(final StasisEntry entry) {
+        final int worldId = idFor(worlds, entry.world());
+        final int typeId = entry.type() == null ? NO_TYPE : idFor(types, entry
+                .type()
+                .name());
+        final byte[] data = entry.data();
+        final int start = data == null ? begin(OP_PUT, PUT_PAYLOAD) : begin(OP_PUT_DATA, PUT_PAYLOAD + 4 + data.length);
+        buffer.putLong(entry
+                               .ballId()
+                               .getMostSignificantBits());
+        buffer.putLong(entry
+                               .ballId()
+                               .getLeastSignificantBits());
+        buffer.putLong(entry
+                               .entityId()
+                               .getMostSignificantBits());
+        buffer.putLong(entry
+                               .entityId()
+                               .getLeastSignificantBits());
+        buffer.putInt(worldId);
+        buffer.putInt(entry.chunkX());
+        buffer.putInt(entry.chunkZ());
+        buffer.putInt(typeId);
+        if (data != null) {
+            buffer.putInt(data.length);
+            buffer.put(data);
+        }
+        end(start);
+        records++;
+    }
+
+    private void encodeDelete(final UUID ballId) {
+        final int start = begin(OP_DELETE, DELETE_PAYLOAD);
+        buffer.putLong(ballId.getMostSignificantBits());
+        buffer.putLong(ballId.getLeastSignificantBits());
+        end(start);
+        records++;
+    }
+
+    private int idFor(final Dictionary dictionary, final String name) {
+        final Integer existing = dictionary.id(name);
+        if (existing != null) {
+            return existing;
+        }
+        final int id = dictionary.define(name);
+        final byte[] raw = name.getBytes(StandardCharsets.UTF_8);
+        final int start = begin(OP_NAME, 7 + raw.length);
+        buffer.put(dictionary.kind);
+        buffer.putInt(id);
+        buffer.putShort((short) raw.length);
+        buffer.put(raw);
+        end(start);
+        return id;
+    }
+
+    private int begin(final byte op, final int payload) {
+        ensureCapacity(1 + payload + CRC_SIZE);
+        final int start = buffer.position();
+        buffer.put(op);
+        return start;
+    }
+
+    private void end(final int start) {
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, buffer.position() - start);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void ensureCapacity(final int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+
+    private static EntityType toType(final String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return EntityType.valueOf(name);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Pending(UUID ballId, StasisEntry entry) {
+    }
+
+    /**
+     * Bidirectional name table for world and entity type ids
+     */
+    private static final class Dictionary {
+
+        private final byte kind;
+
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private final List<String> names = new ArrayList<>();
+
+        private Dictionary(final byte kind) {
+            this.kind = kind;
+        }
+
+        Integer id(final String name) {
+            return ids.get(name);
+        }
+
+        String name(final int id) {
+            return id >= 0 && id < names.size() ? names.get(id) : null;
+        }
+
+        int define(final String name) {
+            define(names.size(), name);
+            return names.size() - 1;
+        }
+
+        void define(final int id, final String name) {
+            while (names.size() <= id) {
+                names.add(null);
+            }
+            names.set(id, name);
+            ids.put(name, id);
+        }
+
+        void clear() {
+            ids.clear();
+            names.clear();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import org.bukkit.entity.EntityType;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable stasis record linking a ball id to the parked entity and the chunk it is stashed in.
+ * Virtual entries carry the serialized entity in {@code data} instead of a live parked entity;
+ * their chunk is the capture point.
+ */
+public record StasisEntry(
+        UUID ballId,
+        UUID entityId,
+        String world,
+        int chunkX,
+        int chunkZ,
+        EntityType type,
+        byte[] data
+) {
+
+    public StasisEntry {
+        Objects.requireNonNull(ballId, "ballId");
+        Objects.requireNonNull(entityId, "entityId");
+        if (world == null || world.isBlank()) {
+            throw new IllegalArgumentException("Stasis entry world cannot be null or blank");
+        }
+    }
+
+    /**
+     * @return true if the entity is stored serialized rather than parked alive
+     */
+    public boolean virtual() {
+        return data != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistence backend for stasis entries. Mutations are called from the main thread and
+ * must not block on disk I/O; implementations persist them in the background.
+ */
+public interface StasisStore {
+
+    /**
+     * Reads every persisted entry and starts background persistence. Called once on startup.
+     *
+     * @return Entries keyed by ball id, in storage order
+     */
+    Map<UUID, StasisEntry> load();
+
+    void put(StasisEntry entry);
+
+    void remove(UUID ballId);
+
+    /**
+     * Removes many entries as one mutation, persisted by a single flush
+     */
+    void removeAll(Collection<UUID> ballIds);
+
+    /**
+     * @return Number of mutations not yet written to disk
+     */
+    int pendingWrites();
+
+    /**
+     * Stops background persistence and synchronously drains any pending mutations
+     */
+    void close();
+}
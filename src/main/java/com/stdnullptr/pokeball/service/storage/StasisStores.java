@@ -0,0 +1,75 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import com.stdnullptr.pokeball.config.sections.StasisConfig;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opens the configured stasis storage backend, migrating legacy data when needed
+ */
+public final class StasisStores {
+
+    private static final String YAML_FILE = "stasis.yml";
+
+    private static final String JOURNAL_FILE = "stasis.journal";
+
+    private StasisStores() {
+    }
+
+    public static StasisStore open(
+            final Path dataFolder,
+            final StasisConfig config,
+            final Logger logger,
+            final Metrics metrics
+    ) {
+        final Path yaml = dataFolder.resolve(YAML_FILE);
+        return switch (config.storageBackend()) {
+            case YAML -> new YamlStasisStore(yaml, logger, metrics, config.flushIntervalMillis(), config.flushThreshold());
+            case JOURNAL -> {
+                final var journal = new JournalStasisStore(
+                        dataFolder.resolve(JOURNAL_FILE),
+                        logger,
+                        metrics,
+                        config.flushIntervalMillis(),
+                        config.flushThreshold(),
+                        config.compactRatio()
+                );
+                if (!Files.exists(journal.file()) && Files.exists(yaml)) {
+                    importYaml(yaml, journal, logger);
+                }
+                yield journal;
+            }
+        };
+    }
+
+    /**
+     * One-time migration of an existing stasis.yml into a fresh journal. The YAML file is only
+     * renamed aside once the journal has been fully written and synced.
+     */
+    private static void importYaml(final Path yaml, final JournalStasisStore journal, final Logger logger) {
+        final Set<String> malformed = new HashSet<>();
+        final Map<UUID, StasisEntry> entries = YamlStasisStore.readFile(yaml, malformed);
+        try {
+            journal.seed(entries.values());
+            Files.move(yaml, yaml.resolveSibling(YAML_FILE + ".migrated"));
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to import " + YAML_FILE + " into the stasis journal", e);
+        }
+        logger.info(
+                "Imported {} stasis entr{} from {} into {} ({} malformed skipped)",
+                entries.size(),
+                entries.size() == 1 ? "y" : "ies",
+                YAML_FILE,
+                JOURNAL_FILE,
+                malformed.size()
+        );
+    }
+}
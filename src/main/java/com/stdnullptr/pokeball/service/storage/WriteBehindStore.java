@@ -0,0 +1,156 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import com.stdnullptr.pokeball.jfr.FlushEvent;
+import com.stdnullptr.pokeball.metrics.Counter;
+import com.stdnullptr.pokeball.metrics.Metrics;
+import com.stdnullptr.pokeball.metrics.Timer;
+import com.stdnullptr.pokeball.util.AtomicFiles;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared write-behind plumbing: a single background writer thread that flushes on a fixed
+ * interval, or early once enough mutations are pending, and is drained on close.
+ * All disk access of a store happens on this thread (or on the caller of {@link #close()}
+ * after the writer has stopped).
+ */
+abstract class WriteBehindStore implements StasisStore {
+
+    protected final Logger logger;
+
+    private final Metrics metrics;
+
+    private final long flushIntervalMillis;
+
+    private final int flushThreshold;
+
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final ScheduledExecutorService writer;
+
+    private long bytesWritten;
+
+    protected WriteBehindStore(
+            final Logger logger,
+            final Metrics metrics,
+            final long flushIntervalMillis,
+            final int flushThreshold
+    ) {
+        this.logger = logger;
+        this.metrics = metrics;
+        this.flushIntervalMillis = Math.max(50L, flushIntervalMillis);
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "Pokeball-Stasis-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public final Map<UUID, StasisEntry> load() {
+        final Map<UUID, StasisEntry> loaded = readAll();
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        return loaded;
+    }
+
+    @Override
+    public final void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            writer.shutdownNow();
+            Thread
+                    .currentThread()
+                    .interrupt();
+        }
+        flushSafely();
+        closeResources();
+    }
+
+    /**
+     * Reads persisted entries; runs on the calling thread before the writer starts
+     */
+    protected abstract Map<UUID, StasisEntry> readAll();
+
+    /**
+     * Writes pending mutations to disk; only ever runs on one thread at a time
+     */
+    protected abstract void flush() throws Exception;
+
+    /**
+     * Releases file handles after the final flush
+     */
+    protected void closeResources() {
+    }
+
+    /**
+     * Replaces {@code to} with {@code from}, atomically where the file system supports it
+     */
+    protected static void moveAtomically(final Path from, final Path to) throws IOException {
+        AtomicFiles.move(from, to);
+    }
+
+    /**
+     * Called by implementations after recording a mutation
+     */
+    protected final void mutated(final int pending) {
+        if (pending < flushThreshold || !flushQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writer.execute(() -> {
+                flushQueued.set(false);
+                flushSafely();
+            });
+        } catch (final Exception e) {
+            // Writer already shut down; close() performs the final drain
+            flushQueued.set(false);
+        }
+    }
+
+    /**
+     * Called by implementations for every chunk of bytes handed to the file system during a flush
+     */
+    protected final void wrote(final long bytes) {
+        bytesWritten += bytes;
+    }
+
+    private synchronized void flushSafely() {
+        // Idle interval flushes are not timed, so the histogram reflects actual writes
+        final int entries = pendingWrites();
+        final boolean timed = entries > 0;
+        final FlushEvent event = new FlushEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        bytesWritten = 0L;
+        try {
+            flush();
+            if (timed) {
+                metrics.record(Timer.FLUSH, start);
+                metrics.increment(Counter.FLUSHES);
+                metrics.add(Counter.FLUSHED_BYTES, bytesWritten);
+            }
+            if (timed && event.shouldCommit()) {
+                event.backend = getClass().getSimpleName();
+                event.bytes = bytesWritten;
+                event.entries = entries;
+                event.commit();
+            }
+        } catch (final Exception e) {
+            metrics.increment(Counter.FLUSH_FAILURES);
+            logger.error("Failed to persist stasis entries", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.stdnullptr.pokeball.service.storage;
+
+import com.stdnullptr.pokeball.metrics.Metrics;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind persistence for stasis entries in the {@code stasis.yml} layout.
+ * Mutations only touch an in-memory mirror and a dirty set; the background writer
+ * serializes the mirror and replaces the file atomically via a temp file and rename.
+ */
+public final class YamlStasisStore extends WriteBehindStore {
+
+    private final Path file;
+
+    private final Map<UUID, StasisEntry> mirror = new ConcurrentHashMap<>();
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Set when the file held malformed entries, so the next flush rewrites it without them; writer-thread state
+     */
+    private boolean needsRewrite;
+
+    public YamlStasisStore(
+            final Path file,
+            final Logger logger,
+            final Metrics metrics,
+            final long flushIntervalMillis,
+            final int flushThreshold
+    ) {
+        super(logger, metrics, flushIntervalMillis, flushThreshold);
+        this.file = file;
+    }
+
+    /**
+     * Reads all well-formed entries from a {@code stasis.yml} file
+     *
+     * @param file          File to read; a missing file yields no entries
+     * @param malformedKeys Receives keys of entries that could not be parsed
+     */
+    static Map<UUID, StasisEntry> readFile(final Path file, final Set<String> malformedKeys) {
+        final Map<UUID, StasisEntry> loaded = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return loaded;
+        }
+        final YamlConfiguration data = YamlConfiguration.loadConfiguration(file.toFile());
+        for (final String key : data.getKeys(false)) {
+            final StasisEntry entry = readEntry(key, data.getConfigurationSection(key));
+            if (entry == null) {
+                malformedKeys.add(key);
+                continue;
+            }
+            loaded.put(entry.ballId(), entry);
+        }
+        return loaded;
+    }
+
+    @Override
+    protected Map<UUID, StasisEntry> readAll() {
+        final Set<String> malformed = new HashSet<>();
+        final Map<UUID, StasisEntry> loaded = readFile(file, malformed);
+        mirror.putAll(loaded);
+        needsRewrite = !malformed.isEmpty();
+        return loaded;
+    }
+
+    @Override
+    public void put(final StasisEntry entry) {
+        mirror.put(entry.ballId(), entry);
+        dirty.add(entry.ballId());
+        mutated(dirty.size());
+    }
+
+    @Override
+    public void remove(final UUID ballId) {
+        if (mirror.remove(ballId) != null) {
+            dirty.add(ballId);
+            mutated(dirty.size());
+        }
+    }
+
+    @Override
+    public void removeAll(final Collection<UUID> ballIds) {
+        boolean changed = false;
+        for (final UUID ballId : ballIds) {
+            if (mirror.remove(ballId) != null) {
+                dirty.add(ballId);
+                changed = true;
+            }
+        }
+        if (changed) {
+            mutated(dirty.size());
+        }
+    }
+
+    @Override
+    public int pendingWrites() {
+        return dirty.size();
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        if (dirty.isEmpty() && !needsRewrite) {
+            return;
+        }
+        // Drain before snapshotting so concurrent mutations re-mark themselves for the next flush
+        final List<UUID> drained = new ArrayList<>(dirty);
+        dirty.removeAll(drained);
+        try {
+            writeSnapshot();
+            needsRewrite = false;
+        } catch (final IOException | RuntimeException e) {
+            dirty.addAll(drained);
+            throw e;
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        final YamlConfiguration out = new YamlConfiguration();
+        for (final StasisEntry entry : mirror.values()) {
+            final String key = entry
+                    .ballId()
+                    .toString();
+            out.set(key + ".world", entry.world());
+            out.set(key + ".uuid", entry
+                    .entityId()
+                    .toString());
+            out.set(key + ".chunkX", entry.chunkX());
+            out.set(key + ".chunkZ", entry.chunkZ());
+            if (entry.type() != null) {
+                out.set(key + ".type", entry
+                        .type()
+                        .name());
+            }
+            if (entry.virtual()) {
+                out.set(key + ".data", Base64
+                        .getEncoder()
+                        .encodeToString(entry.data()));
+            }
+        }
+        final Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        final byte[] bytes = out
+                .saveToString()
+                .getBytes(StandardCharsets.UTF_8);
+        Files.write(tmp, bytes);
+        wrote(bytes.length);
+        moveAtomically(tmp, file);
+    }
+
+    private static StasisEntry readEntry(final String key, final ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+        final String world = section.getString("world");
+        final String uuid = section.getString("uuid");
+        if (world == null || uuid == null || !section.contains("chunkX") || !section.contains("chunkZ")) {
+            return null;
+        }
+        try {
+            return new StasisEntry(
+                    UUID.fromString(key),
+                    UUID.fromString(uuid),
+                    world,
+                    section.getInt("chunkX"),
+                    section.getInt("chunkZ"),
+                    parseType(section.getString("type")),
+                    section.contains("data") ? Base64
+                            .getDecoder()
+                            .decode(section.getString("data", "")) : null
+            );
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static EntityType parseType(final String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return EntityType.valueOf(name);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.stdnullptr.pokeball.trace;
+
+import com.stdnullptr.pokeball.service.ReleaseResult;
+
+/**
+ * One recorded Pokeball interaction. Ticks count from the start of the recording; projectile ids
+ * are assigned per trace in launch order and link a launch to its hit.
+ */
+public sealed interface TraceEvent {
+
+    long tick();
+
+    /**
+     * A Pokeball thrown by a player
+     */
+    record Launch(
+            long tick,
+            int projectile,
+            String player,
+            boolean filled,
+            String world,
+            float x,
+            float y,
+            float z,
+            float velocityX,
+            float velocityY,
+            float velocityZ
+    ) implements TraceEvent {
+    }
+
+    /**
+     * A thrown Pokeball landing. Entity hits carry the entity type and its location, block hits the
+     * block coordinates and face, misses the projectile location.
+     */
+    record Hit(
+            long tick,
+            int projectile,
+            HitTarget target,
+            String world,
+            float x,
+            float y,
+            float z,
+            String entityType,
+            String blockFace
+    ) implements TraceEvent {
+    }
+
+    /**
+     * Outcome of a capture attempt, kept so a replay can be checked against the recording
+     */
+    record Capture(long tick, String entityType, boolean captured) implements TraceEvent {
+    }
+
+    /**
+     * Outcome of a release, kept so a replay can be checked against the recording
+     */
+    record Release(long tick, ReleaseResult result) implements TraceEvent {
+    }
+
+    /**
+     * A /pokeball command line, without the leading slash
+     *
+     * @param sender Player UUID, or {@code console}
+     */
+    record Command(long tick, String sender, String line) implements TraceEvent {
+    }
+
+    enum HitTarget {
+        MISS,
+        BLOCK,
+        ENTITY
+    }
+}
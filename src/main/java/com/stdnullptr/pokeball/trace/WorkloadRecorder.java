@@ -0,0 +1,391 @@
+package com.stdnullptr.pokeball.trace;
+
+import com.stdnullptr.pokeball.service.ReleaseResult;
+import com.stdnullptr.pokeball.util.UuidHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.ProjectileHitEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records launches, hits, capture and release outcomes and /pokeball commands into a
+ * {@link WorkloadTrace} file, so real traffic can be replayed later against a mocked server.
+ * Records are encoded on the main thread into a small buffer that is handed to a background
+ * writer once it fills up or once a second; every hook returns immediately while not recording.
+ * Main thread only.
+ */
+public final class WorkloadRecorder implements Listener {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    // Leaves room for the largest record: a command line capped at MAX_COMMAND_CHARS
+    private static final int HANDOFF_BYTES = BUFFER_BYTES / 2;
+
+    private static final int MAX_COMMAND_CHARS = 256;
+
+    private static final long HANDOFF_PERIOD_TICKS = 20L;
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT);
+
+    private final Plugin plugin;
+
+    private final Logger logger;
+
+    private final Path folder;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    private final UuidHashMap<Integer> inFlight = new UuidHashMap<>();
+
+    private ByteBuffer buffer;
+
+    private ExecutorService writer;
+
+    private FileChannel channel;
+
+    private BukkitTask handoff;
+
+    private Path file;
+
+    private int nextProjectile;
+
+    private long lastTick;
+
+    private int recordedEvents;
+
+    public WorkloadRecorder(final Plugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getSLF4JLogger();
+        this.folder = plugin
+                .getDataFolder()
+                .toPath()
+                .resolve("traces");
+    }
+
+    public boolean recording() {
+        return buffer != null;
+    }
+
+    /**
+     * @return The file being recorded to, or null when not recording
+     */
+    public Path file() {
+        return file;
+    }
+
+    public int recordedEvents() {
+        return recordedEvents;
+    }
+
+    /**
+     * Starts a new trace file under {@code traces/}
+     *
+     * @throws IllegalStateException if already recording
+     */
+    public Path start() throws IOException {
+        if (recording()) {
+            throw new IllegalStateException("Already recording to " + file.getFileName());
+        }
+        Files.createDirectories(folder);
+        final Path target = folder.resolve("trace-" + LocalDateTime
+                .now()
+                .format(FILE_TIME) + ".pbtrace");
+        channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writer = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "Pokeball-Trace-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        buffer.putInt(WorkloadTrace.MAGIC);
+        buffer.putInt(WorkloadTrace.VERSION);
+        buffer.putLong(System.currentTimeMillis());
+        strings.clear();
+        inFlight.clear();
+        nextProjectile = 0;
+        recordedEvents = 0;
+        lastTick = Bukkit.getCurrentTick();
+        file = target;
+        handoff = Bukkit
+                .getScheduler()
+                .runTaskTimer(plugin, this::handOff, HANDOFF_PERIOD_TICKS, HANDOFF_PERIOD_TICKS);
+        logger.info("Recording Pokeball workload to {}", target);
+        return target;
+    }
+
+    /**
+     * Writes what is buffered and closes the trace; safe to call when not recording
+     *
+     * @return The finished trace file, or null if nothing was recording
+     */
+    public Path stop() {
+        if (!recording()) {
+            return null;
+        }
+        handoff.cancel();
+        handOff();
+        final FileChannel out = channel;
+        writer.execute(() -> {
+            try {
+                out.close();
+            } catch (final IOException e) {
+                logger.warn("Failed to close workload trace", e);
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Workload trace writer did not finish in time; the trace may be truncated");
+            }
+        } catch (final InterruptedException e) {
+            Thread
+                    .currentThread()
+                    .interrupt();
+        }
+        final Path finished = file;
+        logger.info("Recorded {} Pokeball events to {}", recordedEvents, finished);
+        buffer = null;
+        writer = null;
+        channel = null;
+        handoff = null;
+        file = null;
+        return finished;
+    }
+
+    public void launch(final Projectile projectile, final Player player, final boolean filled) {
+        if (!recording()) {
+            return;
+        }
+        final int id = nextProjectile++;
+        inFlight.put(projectile.getUniqueId(), id);
+        final int playerId = intern(player
+                .getUniqueId()
+                .toString());
+        final Location at = projectile.getLocation();
+        final int worldId = intern(at
+                .getWorld()
+                .getName());
+        final Vector velocity = projectile.getVelocity();
+        begin(WorkloadTrace.LAUNCH);
+        WorkloadTrace.writeVarLong(buffer, id);
+        WorkloadTrace.writeVarLong(buffer, playerId);
+        buffer.put((byte) (filled ? 1 : 0));
+        WorkloadTrace.writeVarLong(buffer, worldId);
+        putPosition(at.getX(), at.getY(), at.getZ());
+        putPosition(velocity.getX(), velocity.getY(), velocity.getZ());
+        end();
+    }
+
+    public void hit(final ProjectileHitEvent event, final Projectile projectile) {
+        if (!recording()) {
+            return;
+        }
+        final Integer id = inFlight.remove(projectile.getUniqueId());
+        if (id == null) {
+            // Launched before the recording started, or unloaded with its chunk and forgotten since
+            return;
+        }
+        final Entity entity = event.getHitEntity();
+        final Block block = event.getHitBlock();
+        if (entity != null) {
+            final Location at = entity.getLocation();
+            final int worldId = intern(at
+                    .getWorld()
+                    .getName());
+            final int typeId = intern(entity
+                    .getType()
+                    .name());
+            beginHit(id, TraceEvent.HitTarget.ENTITY, worldId, at.getX(), at.getY(), at.getZ());
+            WorkloadTrace.writeVarLong(buffer, typeId);
+        } else if (block != null) {
+            final int worldId = intern(block
+                    .getWorld()
+                    .getName());
+            final BlockFace face = event.getHitBlockFace();
+            final int faceId = intern(face == null ? BlockFace.SELF.name() : face.name());
+            beginHit(id, TraceEvent.HitTarget.BLOCK, worldId, block.getX(), block.getY(), block.getZ());
+            WorkloadTrace.writeVarLong(buffer, faceId);
+        } else {
+            final Location at = projectile.getLocation();
+            final int worldId = intern(at
+                    .getWorld()
+                    .getName());
+            beginHit(id, TraceEvent.HitTarget.MISS, worldId, at.getX(), at.getY(), at.getZ());
+        }
+        end();
+    }
+
+    /**
+     * Drops a projectile that left the world; one that despawned or unloaded before hitting is not
+     * traced any further, so a replay sees its launch without a hit
+     */
+    public void forget(final Projectile projectile) {
+        if (recording()) {
+            inFlight.remove(projectile.getUniqueId());
+        }
+    }
+
+    public void capture(final EntityType type, final boolean captured) {
+        if (!recording()) {
+            return;
+        }
+        final int typeId = intern(type.name());
+        begin(WorkloadTrace.CAPTURE);
+        WorkloadTrace.writeVarLong(buffer, typeId);
+        buffer.put((byte) (captured ? 1 : 0));
+        end();
+    }
+
+    public void release(final ReleaseResult result) {
+        if (!recording()) {
+            return;
+        }
+        begin(WorkloadTrace.RELEASE);
+        buffer.put((byte) result.ordinal());
+        end();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(final PlayerCommandPreprocessEvent event) {
+        if (recording()) {
+            command(event
+                    .getPlayer()
+                    .getUniqueId()
+                    .toString(), event
+                    .getMessage()
+                    .substring(1));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onServerCommand(final ServerCommandEvent event) {
+        if (recording()) {
+            command("console", event.getCommand());
+        }
+    }
+
+    private void command(final String sender, final String line) {
+        final String trimmed = line.strip();
+        final String lower = trimmed.toLowerCase(Locale.ROOT);
+        if (!isPokeballCommand(lower) || lower.contains(" admin trace")) {
+            return;
+        }
+        final int senderId = intern(sender);
+        final int lineId = intern(trimmed.length() > MAX_COMMAND_CHARS ? trimmed.substring(0, MAX_COMMAND_CHARS) : trimmed);
+        begin(WorkloadTrace.COMMAND);
+        WorkloadTrace.writeVarLong(buffer, senderId);
+        WorkloadTrace.writeVarLong(buffer, lineId);
+        end();
+    }
+
+    private static boolean isPokeballCommand(final String line) {
+        for (final String label : new String[]{"pokeball", "pb", "pokeball:pokeball", "pokeball:pb"}) {
+            if (line.equals(label) || line.startsWith(label + " ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void beginHit(
+            final int id,
+            final TraceEvent.HitTarget target,
+            final int worldId,
+            final double x,
+            final double y,
+            final double z
+    ) {
+        begin(WorkloadTrace.HIT);
+        WorkloadTrace.writeVarLong(buffer, id);
+        buffer.put((byte) target.ordinal());
+        WorkloadTrace.writeVarLong(buffer, worldId);
+        putPosition(x, y, z);
+    }
+
+    /**
+     * Writes the kind and tick delta of an event record; strings it references must be interned first
+     */
+    private void begin(final byte kind) {
+        final long tick = Bukkit.getCurrentTick();
+        buffer.put(kind);
+        WorkloadTrace.writeVarLong(buffer, tick - lastTick);
+        lastTick = tick;
+    }
+
+    private void end() {
+        recordedEvents++;
+        if (buffer.position() >= HANDOFF_BYTES) {
+            handOff();
+        }
+    }
+
+    private void putPosition(final double x, final double y, final double z) {
+        buffer.putFloat((float) x);
+        buffer.putFloat((float) y);
+        buffer.putFloat((float) z);
+    }
+
+    private int intern(final String value) {
+        final Integer known = strings.get(value);
+        if (known != null) {
+            return known;
+        }
+        final int id = strings.size();
+        strings.put(value, id);
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        buffer.put(WorkloadTrace.STRING);
+        WorkloadTrace.writeVarLong(buffer, utf8.length);
+        buffer.put(utf8);
+        return id;
+    }
+
+    private void handOff() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        final byte[] chunk = Arrays.copyOf(buffer.array(), buffer.position());
+        buffer.clear();
+        final FileChannel out = channel;
+        writer.execute(() -> {
+            try {
+                final ByteBuffer data = ByteBuffer.wrap(chunk);
+                while (data.hasRemaining()) {
+                    out.write(data);
+                }
+            } catch (final IOException e) {
+                logger.error("Failed to write workload trace", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.stdnullptr.pokeball.trace;
+
+import com.stdnullptr.pokeball.service.ReleaseResult;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded workload and its binary format.
+ * <p>
+ * Layout: a header of magic, version and the recording start in epoch millis, followed by records
+ * of one kind byte and a payload. Every record except {@code STRING} starts with the tick delta to
+ * the previous record as a varint. Strings (players, worlds, entity types, block faces, commands)
+ * are written once as a {@code STRING} record, which implicitly takes the next id, and referenced
+ * by varint id afterwards. Coordinates are floats and release results are written by ordinal.
+ * A truncated tail, as left by a crash, is ignored.
+ *
+ * @param startedAt Recording start in epoch millis
+ * @param events    Recorded events in order
+ */
+public record WorkloadTrace(long startedAt, List<TraceEvent> events) {
+
+    static final int MAGIC = 0x50425452; // "PBTR"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final byte STRING = 0;
+
+    static final byte LAUNCH = 1;
+
+    static final byte HIT = 2;
+
+    static final byte CAPTURE = 3;
+
+    static final byte RELEASE = 4;
+
+    static final byte COMMAND = 5;
+
+    public WorkloadTrace {
+        events = List.copyOf(events);
+    }
+
+    /**
+     * @return Tick of the last event, or 0 for an empty trace
+     */
+    public long ticks() {
+        return events.isEmpty() ? 0L : events
+                .getLast()
+                .tick();
+    }
+
+    /**
+     * @throws IOException if the file cannot be read or is not a Pokeball trace
+     */
+    public static WorkloadTrace read(final Path file) throws IOException {
+        final ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException(file.getFileName() + " is not a Pokeball trace");
+        }
+        final long startedAt = in.getLong();
+        final List<String> strings = new ArrayList<>();
+        final List<TraceEvent> events = new ArrayList<>();
+        long tick = 0L;
+        try {
+            while (in.hasRemaining()) {
+                final byte kind = in.get();
+                if (kind == STRING) {
+                    final byte[] utf8 = new byte[readVarInt(in)];
+                    in.get(utf8);
+                    strings.add(new String(utf8, StandardCharsets.UTF_8));
+                    continue;
+                }
+                tick += readVarLong(in);
+                events.add(switch (kind) {
+                    case LAUNCH -> new TraceEvent.Launch(
+                            tick,
+                            readVarInt(in),
+                            strings.get(readVarInt(in)),
+                            in.get() != 0,
+                            strings.get(readVarInt(in)),
+                            in.getFloat(),
+                            in.getFloat(),
+                            in.getFloat(),
+                            in.getFloat(),
+                            in.getFloat(),
+                            in.getFloat()
+                    );
+                    case HIT -> readHit(in, tick, strings);
+                    case CAPTURE -> new TraceEvent.Capture(tick, strings.get(readVarInt(in)), in.get() != 0);
+                    case RELEASE -> new TraceEvent.Release(tick, ReleaseResult.values()[in.get()]);
+                    case COMMAND -> new TraceEvent.Command(tick, strings.get(readVarInt(in)), strings.get(readVarInt(in)));
+                    default -> throw new IOException("Unknown trace record kind " + kind);
+                });
+            }
+        } catch (final BufferUnderflowException ignored) {
+            // Truncated final record
+        }
+        return new WorkloadTrace(startedAt, events);
+    }
+
+    private static TraceEvent.Hit readHit(final ByteBuffer in, final long tick, final List<String> strings) {
+        final int projectile = readVarInt(in);
+        final TraceEvent.HitTarget target = TraceEvent.HitTarget.values()[in.get()];
+        final String world = strings.get(readVarInt(in));
+        final float x = in.getFloat();
+        final float y = in.getFloat();
+        final float z = in.getFloat();
+        return switch (target) {
+            case MISS -> new TraceEvent.Hit(tick, projectile, target, world, x, y, z, null, null);
+            case BLOCK -> new TraceEvent.Hit(tick, projectile, target, world, x, y, z, null, strings.get(readVarInt(in)));
+            case ENTITY -> new TraceEvent.Hit(tick, projectile, target, world, x, y, z, strings.get(readVarInt(in)), null);
+        };
+    }
+
+    static void writeVarLong(final ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int readVarInt(final ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    static long readVarLong(final ByteBuffer in) {
+        long value = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
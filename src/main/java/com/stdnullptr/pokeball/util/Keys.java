@@ -6,6 +6,8 @@ import org.bukkit.plugin.Plugin;
 
 @Getter
 public final class Keys {
+    private final NamespacedKey pokeball;
+
     private final NamespacedKey ballId;
 
     private final NamespacedKey capturedType;
@@ -17,6 +19,7 @@ public final class Keys {
     private final NamespacedKey projectileReleaseId;
 
     public Keys(final Plugin plugin) {
+        this.pokeball = key(plugin, "pokeball");
         this.ballId = key(plugin, "ball_id");
         this.capturedType = key(plugin, "captured_type");
         this.capturedDataVersion = key(plugin, "captured_data_version");
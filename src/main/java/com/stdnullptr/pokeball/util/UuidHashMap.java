@@ -0,0 +1,153 @@
+package com.stdnullptr.pokeball.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map keyed directly on the two longs of a UUID.
+ * Lookups never allocate or box, which keeps per-event reverse lookups cheap.
+ * Not thread-safe; intended for main-thread indexes.
+ *
+ * @param <V> Value type
+ */
+public final class UuidHashMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] msbs;
+
+    private long[] lsbs;
+
+    private Object[] values;
+
+    private int size;
+
+    private int mask;
+
+    public UuidHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public V get(final UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final long msb, final long lsb) {
+        int slot = slot(msb, lsb);
+        while (values[slot] != null) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(final UUID key, final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        final long msb = key.getMostSignificantBits();
+        final long lsb = key.getLeastSignificantBits();
+        int slot = slot(msb, lsb);
+        while (values[slot] != null) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                final V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        msbs[slot] = msb;
+        lsbs[slot] = lsb;
+        values[slot] = value;
+        if (++size > (values.length >> 1) + (values.length >> 2)) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    public V remove(final UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(final long msb, final long lsb) {
+        int slot = slot(msb, lsb);
+        while (values[slot] != null) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb) {
+                final V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Backward-shift deletion: pulls later entries of the probe run into the freed slot
+     * so lookups never need tombstones
+     */
+    private void shiftBack(int free) {
+        int next = (free + 1) & mask;
+        while (values[next] != null) {
+            final int home = slot(msbs[next], lsbs[next]);
+            // Move the entry if its home slot is not cyclically within (free, next]
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                msbs[free] = msbs[next];
+                lsbs[free] = lsbs[next];
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[free] = null;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldMsbs = msbs;
+        final long[] oldLsbs = lsbs;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = slot(oldMsbs[i], oldLsbs[i]);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            msbs[slot] = oldMsbs[i];
+            lsbs[slot] = oldLsbs[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(final int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(final long msb, final long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
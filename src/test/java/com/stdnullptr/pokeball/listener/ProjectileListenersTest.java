@@ -0,0 +1,93 @@
+package com.stdnullptr.pokeball.listener;
+
+import com.stdnullptr.pokeball.Pokeball;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Snowball;
+import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectileListenersTest {
+
+    private ServerMock server;
+
+    private Pokeball plugin;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        plugin = MockBukkit.load(Pokeball.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void survivalThrowTakesOneBallFromStack() {
+        final PlayerMock player = playerHolding(GameMode.SURVIVAL, 2);
+        throwFromMainHand(player);
+        assertEquals(1, ballsInHand(player));
+    }
+
+    @Test
+    void creativeThrowTakesOneBallFromStack() {
+        final PlayerMock player = playerHolding(GameMode.CREATIVE, 2);
+        throwFromMainHand(player);
+        assertEquals(1, ballsInHand(player));
+    }
+
+    private PlayerMock playerHolding(final GameMode mode, final int amount) {
+        final PlayerMock player = server.addPlayer();
+        player.setGameMode(mode);
+        final ItemStack balls = plugin
+                .items()
+                .createEmptyBall();
+        balls.setAmount(amount);
+        player
+                .getInventory()
+                .setItemInMainHand(balls);
+        return player;
+    }
+
+    /**
+     * Throws a snowball from the main hand the way the server does: the launch event first, then
+     * vanilla takes one item from the hand unless the player has infinite materials
+     */
+    private void throwFromMainHand(final PlayerMock player) {
+        final Snowball projectile = player
+                .getWorld()
+                .spawn(player.getEyeLocation(), Snowball.class);
+        projectile.setShooter(player);
+        final ProjectileLaunchEvent event = new ProjectileLaunchEvent(projectile);
+        server
+                .getPluginManager()
+                .callEvent(event);
+        if (event.isCancelled() || player.getGameMode() == GameMode.CREATIVE) {
+            return;
+        }
+        final ItemStack hand = player
+                .getInventory()
+                .getItemInMainHand();
+        hand.setAmount(hand.getAmount() - 1);
+        player
+                .getInventory()
+                .setItemInMainHand(hand);
+    }
+
+    private static int ballsInHand(final PlayerMock player) {
+        return player
+                .getInventory()
+                .getItemInMainHand()
+                .getAmount();
+    }
+}